@@ -0,0 +1,94 @@
+package benchmark;
+
+import model.Paging;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Hot paths of Paging: loading and deleting a program, and translating addresses of resident programs
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PagingBenchmark {
+    private static final int FRAME_SIZE = 256;
+    private static final int OS_SIZE = 4096;
+    private static final int PROBE_FRAMES = 8; // Size of the program loaded and deleted by each operation
+    private static final int ACCESSES = 4096; // Precomputed translations, replayed cyclically
+
+    @Param({"65536", "1048576", "16777216"})
+    public int memorySize;
+
+    // Fraction of the memory left after the resident programs that stays occupied by scattered one-frame programs
+    @Param({"0", "0.5", "0.9"})
+    public double fragmentation;
+
+    @Param({"16", "256"})
+    public int residentPrograms;
+
+    private Paging paging;
+    private int[] accessPIDs;
+    private int[] accessOffsets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        paging = new Paging(1, 42);
+        paging.initializeMemory(memorySize, FRAME_SIZE, OS_SIZE);
+
+        // Resident programs take a quarter of memory
+        int programSize = Math.max(memorySize / 4 / residentPrograms, 1);
+        for (int i = 0; i < residentPrograms; i++) {
+            paging.addProgram("resident" + i, programSize, null);
+        }
+
+        // Fill the rest with one-frame programs, then delete all but an evenly spread fraction of them
+        List<String> fillers = new ArrayList<>();
+        while (paging.getFreeFrameCount() > PROBE_FRAMES) {
+            String name = "filler" + fillers.size();
+            paging.addProgram(name, FRAME_SIZE, null);
+            fillers.add(name);
+        }
+        for (int i = 0; i < fillers.size(); i++) {
+            if (Math.floor((i + 1) * fragmentation) == Math.floor(i * fragmentation)) {
+                paging.deleteProgram(fillers.get(i));
+            }
+        }
+
+        Random random = new Random(42);
+        accessPIDs = new int[ACCESSES];
+        accessOffsets = new int[ACCESSES];
+        for (int i = 0; i < ACCESSES; i++) {
+            accessPIDs[i] = random.nextInt(residentPrograms); // Residents were loaded first, so their PIDs are 0..n-1
+            accessOffsets[i] = random.nextInt(programSize);
+        }
+    }
+
+    @Benchmark
+    public void loadAndDeleteProgram() {
+        paging.addProgram("probe", PROBE_FRAMES * FRAME_SIZE, null);
+        paging.deleteProgram("probe");
+    }
+
+    @Benchmark
+    public int translateAddress() {
+        int i = next++ & (ACCESSES - 1);
+        return paging.translateAddress(accessPIDs[i], accessOffsets[i]);
+    }
+}
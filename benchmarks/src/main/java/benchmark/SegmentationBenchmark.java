@@ -0,0 +1,104 @@
+package benchmark;
+
+import model.Segment;
+import model.Segmentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Hot paths of Segmentation: adding and removing a segment (including placement), and translating addresses
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SegmentationBenchmark {
+    private static final int OS_SIZE = 1024;
+    private static final int FILLER_SIZE = 16; // Size of the segments scattered over free memory
+    private static final int PROBE_SIZE = 16; // Size of the segment added and removed by each operation
+    private static final int ACCESSES = 4096; // Precomputed translations, replayed cyclically
+
+    @Param({"4096", "65536", "1048576"})
+    public int memorySize;
+
+    // Fraction of the memory left after the resident segments that stays occupied by scattered small segments
+    @Param({"0", "0.5", "0.9"})
+    public double fragmentation;
+
+    @Param({"16", "256"})
+    public int residentSegments;
+
+    // Fit policy used by the add-and-remove probe; memory is filled with the default policy first
+    @Param({"RANDOM_FIT", "FIRST_FIT", "BEST_FIT", "WORST_FIT", "NEXT_FIT"})
+    public Segmentation.FitPolicy fitPolicy;
+
+    private Segmentation segmentation;
+    private int[] accessSIDs;
+    private int[] accessOffsets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        segmentation = new Segmentation(42);
+        segmentation.initializeMemory(memorySize, OS_SIZE);
+
+        // Resident segments take a quarter of memory
+        int segmentSize = Math.max(memorySize / 4 / residentSegments, 1);
+        List<Segment> residents = new ArrayList<>();
+        for (int i = 0; i < residentSegments; i++) {
+            residents.add(segmentation.addSegment("resident" + i, segmentSize, null));
+        }
+
+        // Fill the rest with small segments until placement fails, then remove all but an evenly spread fraction
+        List<Segment> fillers = new ArrayList<>();
+        try {
+            while (true) {
+                fillers.add(segmentation.addSegment("filler" + fillers.size(), FILLER_SIZE, null));
+            }
+        } catch (IllegalArgumentException e) {
+            // Memory is full
+        }
+        for (int i = 0; i < fillers.size(); i++) {
+            if (Math.floor((i + 1) * fragmentation) == Math.floor(i * fragmentation)) {
+                segmentation.removeSegment(fillers.get(i).getSID());
+            }
+        }
+
+        segmentation.setFitPolicy(fitPolicy);
+
+        Random random = new Random(42);
+        accessSIDs = new int[ACCESSES];
+        accessOffsets = new int[ACCESSES];
+        for (int i = 0; i < ACCESSES; i++) {
+            accessSIDs[i] = residents.get(random.nextInt(residents.size())).getSID();
+            accessOffsets[i] = random.nextInt(segmentSize);
+        }
+    }
+
+    @Benchmark
+    public void addAndRemoveSegment() {
+        Segment probe = segmentation.addSegment("probe", PROBE_SIZE, null);
+        segmentation.removeSegment(probe.getSID());
+    }
+
+    @Benchmark
+    public int translateAddress() {
+        int i = next++ & (ACCESSES - 1);
+        return segmentation.translateAddress(accessSIDs[i], accessOffsets[i]);
+    }
+}
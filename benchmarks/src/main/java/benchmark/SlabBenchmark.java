@@ -0,0 +1,70 @@
+package benchmark;
+
+import model.Paging;
+import model.SlabAllocator;
+import model.SlabCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Hot paths of a slab cache: allocating and freeing objects through a CPU magazine, and in batches that
+// overflow the magazine and go through the slab lists
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SlabBenchmark {
+    private static final int MEMORY_SIZE = 64 * 1024 * 1024;
+    private static final int FRAME_SIZE = 4096;
+    private static final int OS_SIZE = 65536;
+    private static final int BATCH = 1024; // Objects allocated before any is freed in the batch benchmark
+
+    @Param({"32", "256"})
+    public int objectSize;
+
+    @Param({"8", "64"})
+    public int magazineSize;
+
+    private SlabCache cache;
+    private int[] batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Paging paging = new Paging(1, 42);
+        paging.initializeMemory(MEMORY_SIZE, FRAME_SIZE, OS_SIZE);
+        cache = new SlabAllocator(paging, 1).createCache("object", objectSize, magazineSize);
+        batch = new int[BATCH];
+    }
+
+    @Benchmark
+    public int allocateAndFree() {
+        int address = cache.allocate(0);
+        cache.free(0, address);
+        return address;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void allocateAndFreeBatch() {
+        for (int i = 0; i < BATCH; i++) {
+            batch[i] = cache.allocate(0);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            cache.free(0, batch[i]);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package gui;
+
+import javax.swing.table.DefaultTableModel;
+import java.util.List;
+import java.util.Vector;
+
+// Read-only table of programs or segments whose rows are grouped and ordered by the ID in the first column (empty
+// for the OS, whose ID is -1), so that the rows of one entry can be replaced with a single pair of table events
+class EntryTableModel extends DefaultTableModel {
+    private static final int OS_ID = -1; // ID of the OS, shown as an empty cell
+
+    EntryTableModel(String[] columnNames) {
+        super(new Object[0][columnNames.length], columnNames);
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    // Replace every row with the given ones, already ordered by ID
+    void setRows(List<Object[]> rows) {
+        dataVector.clear();
+        for (Object[] row : rows) {
+            dataVector.add(convertToVector(row));
+        }
+        fireTableDataChanged();
+    }
+
+    // Replace the rows of an entry with the given ones, which are empty if the entry was removed
+    void replaceRows(int id, List<Object[]> rows) {
+        int first = firstRowOf(id);
+        int last = first;
+        while (last < dataVector.size() && idOf(last) == id) {
+            last++;
+        }
+        if (last > first) {
+            dataVector.subList(first, last).clear();
+            fireTableRowsDeleted(first, last - 1);
+        }
+        if (!rows.isEmpty()) {
+            Vector<Vector<Object>> added = new Vector<>(rows.size());
+            for (Object[] row : rows) {
+                added.add(convertToVector(row));
+            }
+            dataVector.addAll(first, added);
+            fireTableRowsInserted(first, first + rows.size() - 1);
+        }
+    }
+
+    // First row whose ID is not lower than the given one
+    private int firstRowOf(int id) {
+        int low = 0;
+        int high = dataVector.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (idOf(middle) < id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int idOf(int row) {
+        Object value = getValueAt(row, 0);
+        return value == null ? OS_ID : (Integer) value;
+    }
+}
@@ -0,0 +1,43 @@
+package gui;
+
+import model.MemoryEvent;
+import model.MemoryListener;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Hands the MemoryEvents of a memory manager, published on whatever thread made the change, to the event dispatch
+// thread in batches: events arriving while a batch waits for the EDT join it, so a burst of changes from a background
+// operation costs one pass over the tables instead of one per change
+class MemoryEventQueue implements MemoryListener {
+    private final Consumer<List<MemoryEvent>> handler; // Applies a batch of events on the EDT
+    private List<MemoryEvent> pending; // Events waiting for the EDT, guarded by this
+
+    MemoryEventQueue(Consumer<List<MemoryEvent>> handler) {
+        this.handler = handler;
+        this.pending = new ArrayList<>();
+    }
+
+    @Override
+    public void memoryChanged(MemoryEvent event) {
+        boolean schedule;
+        synchronized (this) {
+            schedule = pending.isEmpty();
+            pending.add(event);
+        }
+        if (schedule) {
+            SwingUtilities.invokeLater(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        List<MemoryEvent> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        handler.accept(batch);
+    }
+}
@@ -0,0 +1,385 @@
+package gui;
+
+import model.HeatMap;
+import model.MemoryEvent;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+// Bitmap view of physical memory: each cell of a MemoryMapSource is one pixel of an image laid out row by row, drawn
+// scaled to the zoom and pan of the view. The image is divided into tiles of whole pixel rows, and only the tiles
+// covering changed memory or changed heat counters are rendered again, so that memories of millions of frames stay
+// interactive. Overlays highlight the free holes, or color the cells by their access or fault counts on a
+// logarithmic scale.
+class MemoryMapPanel extends JPanel {
+    // What the cells are colored by
+    enum Overlay {
+        OWNERS("Chủ sở hữu"),
+        FREE_HOLES("Vùng trống"),
+        ACCESS_HEAT("Mật độ truy nhập"),
+        FAULT_HEAT("Mật độ lỗi");
+
+        private final String label; // Name shown in the overlay menu
+
+        Overlay(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static final int MAX_CELLS = 1 << 24; // Most cells in the image, which takes 4 bytes per cell
+    private static final int TILE_ROWS = 16; // Pixel rows per tile
+    private static final double MAX_ZOOM = 64; // Largest size of a cell in screen pixels
+    private static final int HEAT_REFRESH_MILLIS = 250; // Interval between checks of the heat counters
+    private static final int PADDING_COLOR = 0x808080; // Color of the pixels past the last cell
+    private static final int FREE_COLOR = 0xFFFFFF; // Color of a free cell
+    private static final int HOLE_COLOR = 0x00C000; // Color of a free cell in the free holes overlay
+    private static final int[] HEAT_COLORS = createHeatColors(); // Color of a counter by its number of bits
+
+    private final MapCanvas canvas; // Component the image is drawn on
+    private final Timer heatTimer; // Checks the heat counters while a heat overlay is shown
+    private MemoryMapSource source; // Memory shown, null before the first initialization
+    private HeatMap heatMap; // Counters per cell for the heat overlays, or null
+    private Overlay overlay; // What the cells are colored by
+    private BufferedImage image; // One pixel per cell
+    private int[] pixels; // Pixels of the image
+    private int imageWidth; // Cells per row of the image
+    private int cellCount; // Number of cells
+    private int cellSize; // Bytes of memory per cell
+    private boolean[] dirtyTiles; // Tiles to render again before the next paint
+    private boolean dirty; // Whether any tile is dirty
+    private double zoom; // Screen pixels per cell
+    private double panX; // Screen position of the left edge of the image
+    private double panY; // Screen position of the top edge of the image
+    private boolean fitted; // Whether the zoom was fitted to the image since it was created
+
+    MemoryMapPanel() {
+        super(new BorderLayout());
+        this.overlay = Overlay.OWNERS;
+        this.canvas = new MapCanvas();
+
+        // Overlay menu and a button to show the whole memory
+        JComboBox<Overlay> overlayBox = new JComboBox<>(Overlay.values());
+        overlayBox.addActionListener(e -> setOverlay((Overlay) overlayBox.getSelectedItem()));
+        JButton fitButton = new JButton("Vừa khung");
+        fitButton.addActionListener(e -> {
+            fitted = false;
+            canvas.repaint();
+        });
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        toolbar.add(new JLabel("Tô màu theo:"));
+        toolbar.add(overlayBox);
+        toolbar.add(fitButton);
+
+        add(toolbar, BorderLayout.NORTH);
+        add(canvas, BorderLayout.CENTER);
+        this.heatTimer = new Timer(HEAT_REFRESH_MILLIS, e -> refreshHeat());
+    }
+
+    // Bytes per cell for a memory of the given size with cells of at least minimumCellSize bytes, a power-of-two
+    // multiple of it that keeps the number of cells within what the image can hold
+    static int cellSizeFor(long memorySize, int minimumCellSize) {
+        long cellSize = minimumCellSize;
+        while ((memorySize + cellSize - 1) / cellSize > MAX_CELLS) {
+            cellSize *= 2;
+        }
+        return (int) Math.min(cellSize, Integer.MAX_VALUE);
+    }
+
+    // Show a newly initialized memory, counting heat into the given heat map (which may be null)
+    void setSource(MemoryMapSource source, HeatMap heatMap) {
+        this.source = source;
+        this.heatMap = heatMap;
+        this.cellCount = source.getCellCount();
+        this.cellSize = source.getCellSize();
+        imageWidth = Math.max(1, (int) Math.ceil(Math.sqrt(cellCount)));
+        int imageHeight = Math.max(1, (cellCount + imageWidth - 1) / imageWidth);
+        image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        Arrays.fill(pixels, cellCount, pixels.length, PADDING_COLOR);
+        dirtyTiles = new boolean[(imageHeight + TILE_ROWS - 1) / TILE_ROWS];
+        markAllDirty();
+        fitted = false;
+    }
+
+    // Show nothing, while the memory is being initialized again
+    void clear() {
+        source = null;
+        heatMap = null;
+        image = null;
+        pixels = null;
+        dirtyTiles = null;
+        dirty = false;
+        canvas.repaint();
+    }
+
+    // Render again the cells of the address ranges that changed
+    void memoryChanged(MemoryEvent event) {
+        if (source == null) {
+            return;
+        }
+        for (int i = 0; i < event.getRangeCount(); i++) {
+            markDirty(event.getRangeStart(i) / cellSize, (event.getRangeEnd(i) - 1) / cellSize);
+        }
+        if (dirty) {
+            canvas.repaint();
+        }
+    }
+
+    private void setOverlay(Overlay overlay) {
+        this.overlay = overlay;
+        markAllDirty();
+        if (isHeatOverlay()) {
+            heatTimer.start();
+        } else {
+            heatTimer.stop();
+        }
+    }
+
+    private boolean isHeatOverlay() {
+        return overlay == Overlay.ACCESS_HEAT || overlay == Overlay.FAULT_HEAT;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (isHeatOverlay()) {
+            heatTimer.start();
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        heatTimer.stop();
+        super.removeNotify();
+    }
+
+    // Mark the tiles of the cells whose counters changed since the last check
+    private void refreshHeat() {
+        if (heatMap == null || !isShowing()) {
+            return;
+        }
+        int regionSize = heatMap.getRegionSize();
+        for (int region = 0; region < heatMap.getRegionCount(); region++) {
+            if (heatMap.clearDirty(region)) {
+                int first = region * regionSize;
+                markDirty(first, Math.min(first + regionSize, cellCount) - 1);
+            }
+        }
+        if (dirty) {
+            canvas.repaint();
+        }
+    }
+
+    private void markAllDirty() {
+        if (dirtyTiles != null) {
+            Arrays.fill(dirtyTiles, true);
+            dirty = true;
+            canvas.repaint();
+        }
+    }
+
+    // Mark the tiles holding the cells first to last
+    private void markDirty(int first, int last) {
+        int tileCells = TILE_ROWS * imageWidth;
+        int lastTile = Math.min(last / tileCells, dirtyTiles.length - 1);
+        for (int tile = Math.max(first, 0) / tileCells; tile <= lastTile; tile++) {
+            dirtyTiles[tile] = true;
+            dirty = true;
+        }
+    }
+
+    // Render the cells of the dirty tiles into the image
+    private void renderDirtyTiles() {
+        int tileCells = TILE_ROWS * imageWidth;
+        for (int tile = 0; tile < dirtyTiles.length; tile++) {
+            if (!dirtyTiles[tile]) {
+                continue;
+            }
+            dirtyTiles[tile] = false;
+            int first = tile * tileCells;
+            int end = (int) Math.min((long) first + tileCells, cellCount);
+            if (first >= end) {
+                continue;
+            }
+            source.fillCells(first, end - first, pixels, first);
+            for (int cell = first; cell < end; cell++) {
+                pixels[cell] = shade(cell, pixels[cell]);
+            }
+        }
+        dirty = false;
+    }
+
+    // Final color of a cell from the color of its owner and the overlay
+    private int shade(int cell, int owner) {
+        switch (overlay) {
+            case FREE_HOLES:
+                return owner == MemoryMapSource.FREE ? HOLE_COLOR : dim(owner);
+            case ACCESS_HEAT:
+            case FAULT_HEAT:
+                int count = 0;
+                if (heatMap != null && cell < heatMap.getBlockCount()) {
+                    count = overlay == Overlay.ACCESS_HEAT ? heatMap.getAccessCount(cell) : heatMap.getFaultCount(cell);
+                }
+                if (count > 0) {
+                    return HEAT_COLORS[32 - Integer.numberOfLeadingZeros(count)];
+                }
+                return dim(owner == MemoryMapSource.FREE ? FREE_COLOR : owner);
+            default:
+                return owner == MemoryMapSource.FREE ? FREE_COLOR : owner & 0xFFFFFF;
+        }
+    }
+
+    // Washed-out version of a color, for the cells an overlay does not highlight
+    private static int dim(int rgb) {
+        return ((rgb & 0xFEFEFE) >>> 1) + 0x606060;
+    }
+
+    // Colors of counters with 1 to 31 bits: dark red through red and yellow to white
+    private static int[] createHeatColors() {
+        int[] colors = new int[32];
+        for (int bits = 1; bits < colors.length; bits++) {
+            float t = Math.min(1f, (bits - 1) / 20f);
+            int red = (int) (96 + 159 * Math.min(1f, t * 3));
+            int green = (int) (255 * Math.max(0f, Math.min(1f, t * 3 - 1)));
+            int blue = (int) (255 * Math.max(0f, t * 3 - 2));
+            colors[bits] = red << 16 | green << 8 | blue;
+        }
+        return colors;
+    }
+
+    // Zoom so that the whole image fits the canvas, centered
+    private void fit() {
+        int width = canvas.getWidth();
+        int height = canvas.getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        zoom = Math.min(MAX_ZOOM, Math.min((double) width / image.getWidth(), (double) height / image.getHeight()));
+        panX = (width - image.getWidth() * zoom) / 2;
+        panY = (height - image.getHeight() * zoom) / 2;
+        fitted = true;
+    }
+
+    // Cell under a point of the canvas, or -1
+    private int cellAt(int x, int y) {
+        if (image == null || zoom <= 0) {
+            return -1;
+        }
+        int column = (int) Math.floor((x - panX) / zoom);
+        int row = (int) Math.floor((y - panY) / zoom);
+        if (column < 0 || column >= imageWidth || row < 0 || row >= image.getHeight()) {
+            return -1;
+        }
+        long cell = (long) row * imageWidth + column;
+        return cell < cellCount ? (int) cell : -1;
+    }
+
+
+    // Draws the visible part of the image, and zooms with the mouse wheel and pans by dragging
+    private class MapCanvas extends JComponent {
+        private Point dragStart; // Last mouse position of a drag
+
+        MapCanvas() {
+            setOpaque(true);
+            setBackground(Color.DARK_GRAY);
+            setToolTipText(""); // Tooltips come from getToolTipText(MouseEvent)
+            MouseAdapter mouse = new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    dragStart = e.getPoint();
+                }
+
+                @Override
+                public void mouseDragged(MouseEvent e) {
+                    panX += e.getX() - dragStart.x;
+                    panY += e.getY() - dragStart.y;
+                    dragStart = e.getPoint();
+                    repaint();
+                }
+
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if (e.getClickCount() == 2) {
+                        fitted = false;
+                        repaint();
+                    }
+                }
+
+                @Override
+                public void mouseWheelMoved(MouseWheelEvent e) {
+                    if (image == null) {
+                        return;
+                    }
+                    // Zoom around the point under the mouse
+                    double minZoom = Math.min(1, Math.min((double) getWidth() / image.getWidth(), (double) getHeight() / image.getHeight()) / 4);
+                    double newZoom = Math.max(minZoom, Math.min(MAX_ZOOM, zoom * Math.pow(1.25, -e.getPreciseWheelRotation())));
+                    panX = e.getX() - (e.getX() - panX) * newZoom / zoom;
+                    panY = e.getY() - (e.getY() - panY) * newZoom / zoom;
+                    zoom = newZoom;
+                    repaint();
+                }
+            };
+            addMouseListener(mouse);
+            addMouseMotionListener(mouse);
+            addMouseWheelListener(mouse);
+        }
+
+        @Override
+        public String getToolTipText(MouseEvent e) {
+            int cell = cellAt(e.getX(), e.getY());
+            if (cell < 0) {
+                return null;
+            }
+            String text = "@" + (long) cell * cellSize + ": " + source.describeCell(cell);
+            if (heatMap != null && cell < heatMap.getBlockCount()) {
+                text += " | truy nhập: " + heatMap.getAccessCount(cell) + ", lỗi: " + heatMap.getFaultCount(cell);
+            }
+            return text;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+            if (image == null) {
+                return;
+            }
+            if (!fitted) {
+                fit();
+            }
+            if (dirty) {
+                renderDirtyTiles();
+            }
+            // Draw only the pixels of the image under the clip
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            int sx1 = (int) Math.max(0, Math.floor((clip.x - panX) / zoom));
+            int sy1 = (int) Math.max(0, Math.floor((clip.y - panY) / zoom));
+            int sx2 = (int) Math.min(image.getWidth(), Math.ceil((clip.x + clip.width - panX) / zoom));
+            int sy2 = (int) Math.min(image.getHeight(), Math.ceil((clip.y + clip.height - panY) / zoom));
+            if (sx1 >= sx2 || sy1 >= sy2) {
+                return;
+            }
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g2.drawImage(image,
+                    (int) Math.round(panX + sx1 * zoom), (int) Math.round(panY + sy1 * zoom),
+                    (int) Math.round(panX + sx2 * zoom), (int) Math.round(panY + sy2 * zoom),
+                    sx1, sy1, sx2, sy2, null);
+            g2.dispose();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package gui;
+
+// Physical memory as seen by a MemoryMapPanel: a sequence of cells, each a fixed-size block of addresses (one or more
+// frames for paging) shown as one pixel in the color of its owner
+interface MemoryMapSource {
+    int FREE = 0; // Color written for a free cell; owner colors always carry an opaque alpha, so they never equal it
+
+    int getCellCount();
+
+    // Bytes of memory per cell
+    int getCellSize();
+
+    // Write the ARGB color of the owner of each cell of a range into pixels, or FREE for a free cell
+    void fillCells(int firstCell, int count, int[] pixels, int offset);
+
+    // Description of a cell for its tooltip
+    String describeCell(int cell);
+}
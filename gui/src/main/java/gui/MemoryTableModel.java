@@ -0,0 +1,63 @@
+package gui;
+
+import model.MemoryEvent;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.List;
+
+// Memory table with one row per address, read from the simulator's memory view on demand so that it holds
+// no copy of memory and scales to memories of millions of addresses
+class MemoryTableModel extends AbstractTableModel {
+    private static final int MAX_RANGE_EVENTS = 64; // Most ranges of a change repainted one by one; more are repainted as one span
+    private final String[] columnNames; // Header of each column
+    private final boolean addressColumn; // Whether the first column shows the address of the row
+    private List<String> memory; // Label of each address, produced on demand by the memory manager
+
+    MemoryTableModel(String[] columnNames, boolean addressColumn) {
+        this.columnNames = columnNames;
+        this.addressColumn = addressColumn;
+        this.memory = List.of();
+    }
+
+    // Show a new memory view, such as the one of a freshly initialized memory
+    void setMemory(List<String> memory) {
+        this.memory = memory;
+        fireTableDataChanged();
+    }
+
+    // Repaint the rows of the address ranges that changed, so that the cost grows with the size of the change
+    void fireRangesUpdated(MemoryEvent event) {
+        int count = event.getRangeCount();
+        if (count > MAX_RANGE_EVENTS) {
+            // Scattered frames: one event over their span, of which the table repaints only the visible rows
+            fireTableRowsUpdated(event.getRangeStart(0), event.getRangeEnd(count - 1) - 1);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            fireTableRowsUpdated(event.getRangeStart(i), event.getRangeEnd(i) - 1);
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return memory.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (addressColumn && column == 0) {
+            return "@" + row;
+        }
+        return memory.get(row);
+    }
+}
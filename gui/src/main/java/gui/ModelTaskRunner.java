@@ -0,0 +1,162 @@
+package gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Runs the operations of a GUI on the memory model one at a time on a background thread, so that large memories do
+// not freeze the event dispatch thread. Operations run in the order they were submitted, which keeps
+// initializeMemory from overlapping any other operation. A status bar shows the running operation and its progress,
+// with a button that cancels it and every operation waiting behind it. A running operation stops at its next step,
+// and only model calls that report progress have steps inside them; any other call runs to its end. Results and
+// errors are handed back on the EDT.
+class ModelTaskRunner {
+    // An operation on the model, run on the background thread
+    interface Task<T> {
+        T run(Progress progress) throws Exception;
+    }
+
+    // Progress of a running task
+    interface Progress {
+        // Report that the task started the step with the given description, after done of total steps
+        void step(String description, int done, int total);
+
+        // Whether the task was cancelled and should stop before its next step
+        boolean isCancelled();
+    }
+
+    private final ThreadPoolExecutor executor; // Single thread running the tasks, stopped while idle
+    private final Deque<Worker<?>> workers; // Tasks submitted and not finished, oldest first; used on the EDT
+    private final JPanel statusBar; // Shows the running task, hidden while idle
+    private final JLabel statusLabel; // Description of the current step
+    private final JProgressBar progressBar; // Progress of the running task, indeterminate until it reports steps
+
+    ModelTaskRunner() {
+        this.executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "memory-model");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.workers = new ArrayDeque<>();
+
+        statusLabel = new JLabel();
+        progressBar = new JProgressBar(0, 100);
+        JButton cancelButton = new JButton("Hủy");
+        cancelButton.setToolTipText("Hủy các thao tác đang chờ; thao tác đang chạy dừng ở bước tiếp theo nếu có.");
+        cancelButton.addActionListener(e -> cancelAll());
+        statusBar = new JPanel(new BorderLayout(8, 0));
+        statusBar.add(statusLabel, BorderLayout.WEST);
+        statusBar.add(progressBar, BorderLayout.CENTER);
+        statusBar.add(cancelButton, BorderLayout.EAST);
+        statusBar.setVisible(false);
+    }
+
+    JComponent getStatusBar() {
+        return statusBar;
+    }
+
+    // Run a task after the ones already submitted, then pass its result to onSuccess or its failure to onError on
+    // the EDT. Neither is called if the task is cancelled.
+    <T> void submit(String description, Task<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        submit(description, task, onSuccess, onError, () -> { });
+    }
+
+    // Run a task like submit, then call onFinished on the EDT whether it succeeded, failed or was cancelled. A
+    // cancelled task finishes as soon as it is cancelled, although its current step may still be running.
+    <T> void submit(String description, Task<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError,
+                    Runnable onFinished) {
+        Worker<T> worker = new Worker<>(description, task, onSuccess, onError, onFinished);
+        workers.addLast(worker);
+        showStatus();
+        executor.execute(worker);
+    }
+
+    // Cancel the running task and every task waiting behind it
+    void cancelAll() {
+        for (Worker<?> worker : workers) {
+            worker.cancel(false);
+        }
+    }
+
+    private void showStatus() {
+        Worker<?> current = workers.peekFirst();
+        if (current == null) {
+            statusBar.setVisible(false);
+            return;
+        }
+        statusLabel.setText(current.status);
+        progressBar.setIndeterminate(current.getProgress() == 0);
+        progressBar.setValue(current.getProgress());
+        statusBar.setVisible(true);
+    }
+
+
+    // Runs a task in the background and reports its steps, which SwingWorker coalesces before they reach the EDT
+    private class Worker<T> extends SwingWorker<T, String> implements Progress {
+        private final Task<T> task;
+        private final Consumer<T> onSuccess;
+        private final Consumer<Throwable> onError;
+        private final Runnable onFinished;
+        private String status; // Description of the current step, shown while the task is the oldest one
+
+        Worker(String description, Task<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError,
+               Runnable onFinished) {
+            this.task = task;
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+            this.onFinished = onFinished;
+            this.status = description;
+            addPropertyChangeListener(e -> {
+                if ("progress".equals(e.getPropertyName()) && workers.peekFirst() == this) {
+                    showStatus();
+                }
+            });
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            return task.run(this);
+        }
+
+        @Override
+        public void step(String description, int done, int total) {
+            publish(description);
+            if (total > 0) {
+                setProgress(Math.max(1, (int) (100L * done / total)));
+            }
+        }
+
+        @Override
+        protected void process(List<String> chunks) {
+            // Only the latest of the steps reported since the last update is shown
+            status = chunks.get(chunks.size() - 1);
+            if (workers.peekFirst() == this) {
+                showStatus();
+            }
+        }
+
+        @Override
+        protected void done() {
+            workers.remove(this);
+            showStatus();
+            try {
+                onSuccess.accept(get());
+            } catch (CancellationException | InterruptedException e) {
+                // Cancelled: the model keeps whatever the completed steps did
+            } catch (ExecutionException e) {
+                onError.accept(e.getCause());
+            } finally {
+                onFinished.run();
+            }
+        }
+    }
+}
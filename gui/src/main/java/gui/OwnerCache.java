@@ -0,0 +1,66 @@
+package gui;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+// Owners of memory (programs or segments) indexed by ID together with their cell colors, so that painting a memory
+// cell neither searches the model nor allocates a darker color for selected rows. IDs start at -1 for the OS and are
+// never reused until the memory is initialized again, when the cache must be cleared.
+class OwnerCache<T> {
+    private final IntFunction<T> lookup; // Find the owner with an ID in the model, or null
+    private final Function<T, Color> colorOf; // Color of an owner
+    private Object[] owners; // Cached owners indexed by ID + 1
+    private Color[] colors; // Cell colors of the cached owners
+    private Color[] selectedColors; // Cell colors of the cached owners in selected rows
+
+    OwnerCache(IntFunction<T> lookup, Function<T, Color> colorOf) {
+        this.lookup = lookup;
+        this.colorOf = colorOf;
+        this.owners = new Object[64];
+        this.colors = new Color[64];
+        this.selectedColors = new Color[64];
+    }
+
+    // Get the owner with an ID, or null if there is none
+    @SuppressWarnings("unchecked")
+    T get(int id) {
+        int index = id + 1;
+        if (index < 0) {
+            return null;
+        }
+        if (index >= owners.length) {
+            int length = Math.max(owners.length * 2, index + 1);
+            owners = Arrays.copyOf(owners, length);
+            colors = Arrays.copyOf(colors, length);
+            selectedColors = Arrays.copyOf(selectedColors, length);
+        }
+        if (owners[index] == null) {
+            T owner = lookup.apply(id);
+            if (owner == null) {
+                return null; // Not cached, the owner may still be created with this ID
+            }
+            Color color = colorOf.apply(owner);
+            colors[index] = color == null ? Color.WHITE : color;
+            selectedColors[index] = colors[index].darker();
+            owners[index] = owner;
+        }
+        return (T) owners[index];
+    }
+
+    // Get the cell color of the owner with an ID, or white if there is none
+    Color getColor(int id, boolean selected) {
+        if (get(id) == null) {
+            return Color.WHITE;
+        }
+        return selected ? selectedColors[id + 1] : colors[id + 1];
+    }
+
+    // Forget every owner, when the memory is initialized again and IDs restart
+    void clear() {
+        Arrays.fill(owners, null);
+        Arrays.fill(colors, null);
+        Arrays.fill(selectedColors, null);
+    }
+}
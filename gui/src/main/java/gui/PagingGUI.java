@@ -1,5 +1,7 @@
 package gui;
 
+import model.HeatMap;
+import model.MemoryEvent;
 import model.Page;
 import model.Paging;
 import model.Program;
@@ -9,18 +11,27 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.table.*;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
 
 
 public class PagingGUI extends JPanel {
 
     private final JFrame window; // Parent window
     private final Paging paging; // Paging model
-    private DefaultTableModel memoryTableModel;
+    private MemoryTableModel memoryTableModel;
     private JTable memoryTable;
     private final String[] memoryColumnNames = {"", ""};
+    private RowHeaderModel memoryRowHeaderModel;
     private JList<String> memoryRowHeader;
+    private final OwnerCache<Program> programColors; // Programs and their colors for painting the memory table
+    private MemoryMapPanel memoryMap; // Bitmap view of the frames
+    private int mapCellFrames; // Frames per cell of the memory map
+    private final ModelTaskRunner runner; // Runs the operations on the paging off the event dispatch thread
+    private boolean memoryShown; // Whether the views show the memory, false while it is being initialized
     private JButton addButton;
     private JButton accessButton;
     private JButton deleteButton;
@@ -30,6 +41,10 @@ public class PagingGUI extends JPanel {
     public PagingGUI(JFrame window) {
         this.window = window;
         this.paging = new Paging();
+        this.programColors = new OwnerCache<>(paging::findProgramByPID, Program::getColor);
+        this.runner = new ModelTaskRunner();
+        // Keep the tables in step with the paging, applying its changes on the event dispatch thread in batches
+        paging.addMemoryListener(new MemoryEventQueue(this::applyMemoryChanges));
 
         // Set up window and layout
         window.setSize(1400, 500);
@@ -83,44 +98,14 @@ public class PagingGUI extends JPanel {
         JPanel tablePanel = new JPanel(new BorderLayout());
         tablePanel.setBorder(new TitledBorder("Bộ nhớ"));
 
-        Object[][] data = new Object[0][2];
-        memoryTableModel = new DefaultTableModel(data, memoryColumnNames) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        memoryTableModel = new MemoryTableModel(memoryColumnNames, true);
 
         // Set the table and cell color renderer
         memoryTable = new JTable(memoryTableModel) {
             @Override
             public Component prepareRenderer(TableCellRenderer renderer, int row, int column) {
                 Component c = super.prepareRenderer(renderer, row, column);
-                Object value = getModel().getValueAt(row, column);
-
-                if ("OS".equals(value)) { // Check if the value is "OS"
-                    c.setBackground(Color.LIGHT_GRAY); // Color the row light grey
-                } else if (value != null && value.toString().contains("CT ")) { // Check if the value contains program ID
-                    try {
-                        String pidStr = value.toString().split(",")[0].split(" ")[1]; // Extract program ID
-                        int pid = Integer.parseInt(pidStr);
-                        Program program = paging.findProgramByPID(pid);
-                        if (program != null) {
-                            c.setBackground(program.getColor()); // Set the background color to the program's color
-                            if (isRowSelected(row)) {
-                                c.setBackground(c.getBackground().darker()); // Make selected row darker
-                            }
-                        } else {
-                            c.setBackground(Color.WHITE); // Default color if program not found
-                        }
-                    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
-                        c.setBackground(Color.WHITE); // Fallback in case of parsing error
-                    }
-                } else if (value.toString().contains("@")) { // Check if the value is a memory address
-                    c.setBackground(getTableHeader().getBackground()); // Set to default header color
-                } else {
-                    c.setBackground(Color.WHITE); // Default color for other cells
-                }
+                c.setBackground(column == 0 ? getTableHeader().getBackground() : getMemoryColor(row, isRowSelected(row)));
                 return c;
             }
         };
@@ -131,9 +116,9 @@ public class PagingGUI extends JPanel {
         memoryTable.setGridColor(Color.GRAY);
 
         // Set row header (frame index)
-        String[] rowHeaders = new String[data.length];
-        memoryRowHeader = new JList<>(rowHeaders);
-        memoryRowHeader.setFixedCellWidth(40);
+        memoryRowHeaderModel = new RowHeaderModel();
+        memoryRowHeader = new JList<>(memoryRowHeaderModel);
+        memoryRowHeader.setFixedCellWidth(80);
         memoryRowHeader.setFixedCellHeight(memoryTable.getRowHeight());
         memoryRowHeader.setCellRenderer(new RowHeaderRenderer(memoryTable));
 
@@ -141,46 +126,196 @@ public class PagingGUI extends JPanel {
         JScrollPane scrollPane = new JScrollPane(memoryTable);
         scrollPane.setRowHeaderView(memoryRowHeader);
 
-        tablePanel.add(scrollPane, BorderLayout.CENTER);
+        // Show the memory as a table or as a zoomable map of its frames
+        memoryMap = new MemoryMapPanel();
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Bảng", scrollPane);
+        tabs.addTab("Bản đồ", memoryMap);
+        tablePanel.add(tabs, BorderLayout.CENTER);
+        tablePanel.add(runner.getStatusBar(), BorderLayout.SOUTH);
 
         return tablePanel;
     }
 
 
-    // Initialize memory and pages table with the given memory size, frame size, and OS size
+    // Initialize memory with the given memory size, frame size, and OS size in the background; the tables show the
+    // new memory when its reset event arrives
     private void initializeMemory(int memorySize, int frameSize, int osSize) {
-        // Initialize memory table model with the correct number of rows
-        memoryTableModel.setDataVector(new Object[memorySize][1], memoryColumnNames);
-        
-        // Initialize memory, add OS program, and update tables
-        paging.initializeMemory(memorySize, frameSize, osSize);
-        updateMemoryRowHeaders(memorySize);
-        updateMemoryTable();
+        addButton.setEnabled(false);
+        runner.submit("Khởi tạo bộ nhớ", progress -> {
+            // Counters per cell of the memory map, which may be large
+            progress.step("Tạo bản đồ nhiệt", 0, 100);
+            long memoryBytes = (long) (memorySize / frameSize) * frameSize;
+            int cellSize = MemoryMapPanel.cellSizeFor(memoryBytes, frameSize);
+            HeatMap heatMap = new HeatMap(cellSize, (int) ((memoryBytes + cellSize - 1) / cellSize));
+            if (progress.isCancelled()) {
+                return null;
+            }
+
+            // The views must not read the paging while it is initialized; it reports the frames it has built and
+            // keeps the previous memory if cancelled or failing before they replace it
+            HeatMap previousHeatMap = paging.getHeatMap();
+            try {
+                SwingUtilities.invokeAndWait(this::hideMemory);
+                paging.setHeatMap(heatMap);
+                boolean initialized = paging.initializeMemory(memorySize, frameSize, osSize, (done, total) -> {
+                    progress.step("Khởi tạo bộ nhớ", 10 + (int) (90 * done / Math.max(total, 1)), 100);
+                    return !progress.isCancelled();
+                });
+                if (!initialized) {
+                    restoreMemory(previousHeatMap);
+                }
+            } catch (Throwable e) {
+                restoreMemory(previousHeatMap);
+                throw e;
+            }
+            return null;
+        }, result -> { }, this::showError, () -> addButton.setEnabled(memoryShown));
+    }
+
+
+    // Show the previous memory again after a new one was not initialized, which leaves the paging unchanged; called
+    // on the background thread
+    private void restoreMemory(HeatMap previousHeatMap) {
+        paging.setHeatMap(previousHeatMap);
+        if (previousHeatMap != null) {
+            SwingUtilities.invokeLater(this::showMemory);
+        }
+    }
+
+
+    // Empty the views of the memory before it is initialized again
+    private void hideMemory() {
+        memoryShown = false;
+        addButton.setEnabled(false);
+        memoryTableModel.setMemory(List.of());
+        memoryRowHeaderModel.setRows(0, address -> "");
+        memoryMap.clear();
+        ((EntryTableModel) pagesTable.getModel()).setRows(List.of());
+    }
+
+
+    // Show a newly initialized memory in every view
+    private void showMemory() {
+        int frameSize = paging.getFrameSize();
+        programColors.clear();
+        memoryTableModel.setMemory(paging.getMemory());
+        memoryRowHeaderModel.setRows(paging.getMemorySize(), address -> "F" + address / frameSize);
         updatePagesTable();
+        HeatMap heatMap = paging.getHeatMap();
+        mapCellFrames = heatMap.getBlockSize() / frameSize;
+        memoryMap.setSource(createMemoryMapSource(heatMap.getBlockSize()), heatMap);
+        memoryShown = true;
+        addButton.setEnabled(true);
 
         // Set width for memory address column, resize content column accordingly
         memoryTable.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
-        memoryTable.getColumnModel().getColumn(0).setPreferredWidth(50);
+        memoryTable.getColumnModel().getColumn(0).setPreferredWidth(80);
         memoryTable.getColumnModel().getColumn(1).setPreferredWidth(179);
     }
 
 
-    // Update memory table row headers (frame index) with the current memory size
-    private void updateMemoryRowHeaders(int memorySize) {
-        String[] newHeaders = new String[memorySize];
-        for (int i = 0; i < memorySize; i++) {
-            newHeaders[i] = "F" + i / paging.getFrameSize();
-            memoryTableModel.setValueAt("@" + i, i, 0);
+    // Show the failure of an operation
+    private void showError(Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.toString();
+        JOptionPane.showMessageDialog(this, message, "Lỗi", JOptionPane.ERROR_MESSAGE);
+    }
+
+
+    // Color of a memory cell, read from the frame table of the paging without building its label
+    private Color getMemoryColor(int address, boolean selected) {
+        int frameSize = paging.getFrameSize();
+        int frame = address / frameSize;
+        if (frame >= paging.getFrameCount()) {
+            return Color.WHITE;
+        }
+        int pid = paging.getFrameOwner(frame);
+        int pageIndex = paging.getFramePage(frame);
+        if (pid == Paging.FREE_FRAME) {
+            return Color.WHITE;
+        }
+        if (pid == Paging.OS_PID && pageIndex == Paging.KERNEL_PAGE) {
+            return Color.LIGHT_GRAY; // Frame of a kernel object cache
         }
-        memoryRowHeader.setListData(newHeaders);
+        // Bytes past the end of the program in its last page stay free
+        Program program = programColors.get(pid);
+        if (program == null || pageIndex * frameSize + address % frameSize >= program.getSize()) {
+            return Color.WHITE;
+        }
+        return pid == Paging.OS_PID ? Color.LIGHT_GRAY : programColors.getColor(pid, selected);
     }
 
 
-    // Update the memory table with the current state of the paging
-    private void updateMemoryTable() {
-        List<String> memory = paging.getMemory();
-        for (int i = 0; i < memory.size(); i++) {
-            memoryTableModel.setValueAt(memory.get(i), i, 1); // Update the content column (2nd column)
+    // Frames of the paging for the memory map, a cell being the given number of bytes and colored by its first frame
+    private MemoryMapSource createMemoryMapSource(int cellSize) {
+        int cellCount = (paging.getFrameCount() + mapCellFrames - 1) / mapCellFrames;
+        return new MemoryMapSource() {
+            @Override
+            public int getCellCount() {
+                return cellCount;
+            }
+
+            @Override
+            public int getCellSize() {
+                return cellSize;
+            }
+
+            @Override
+            public void fillCells(int firstCell, int count, int[] pixels, int offset) {
+                for (int i = 0; i < count; i++) {
+                    int pid = paging.getFrameOwner((firstCell + i) * mapCellFrames);
+                    if (pid == Paging.FREE_FRAME) {
+                        pixels[offset + i] = FREE;
+                    } else if (pid == Paging.OS_PID) {
+                        pixels[offset + i] = Color.LIGHT_GRAY.getRGB();
+                    } else {
+                        pixels[offset + i] = programColors.getColor(pid, false).getRGB();
+                    }
+                }
+            }
+
+            @Override
+            public String describeCell(int cell) {
+                int frame = cell * mapCellFrames;
+                return "F" + frame + " - " + paging.getMemoryLabel(frame * paging.getFrameSize());
+            }
+        };
+    }
+
+
+    // Bring the views up to date with a batch of changes of the paging, touching only the rows of the changed frames
+    // and programs; a new memory is shown whole
+    private void applyMemoryChanges(List<MemoryEvent> events) {
+        // Changes before the latest reset are already part of the new memory
+        int first = 0;
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i).isReset()) {
+                first = i;
+            }
+        }
+        if (events.get(first).isReset()) {
+            showMemory();
+            first++;
+        }
+        if (!memoryShown) {
+            return;
+        }
+        Set<Integer> entries = new TreeSet<>();
+        for (MemoryEvent event : events.subList(first, events.size())) {
+            memoryTableModel.fireRangesUpdated(event);
+            memoryMap.memoryChanged(event);
+            for (int i = 0; i < event.getEntryCount(); i++) {
+                entries.add(event.getEntry(i));
+            }
+        }
+        EntryTableModel model = (EntryTableModel) pagesTable.getModel();
+        for (int pid : entries) {
+            Program program = paging.findProgramByPID(pid);
+            List<Object[]> rows = new ArrayList<>();
+            if (program != null) {
+                addPageRows(rows, program);
+            }
+            model.replaceRows(pid, rows);
         }
     }
 
@@ -215,7 +350,7 @@ public class PagingGUI extends JPanel {
 
         // Memory size label and spinner
         JLabel memorySizeLabel = new JLabel("Kích thước bộ nhớ:");
-        JSpinner memorySizeSpinner = new JSpinner(new SpinnerNumberModel(64, 1, 1024, 1));
+        JSpinner memorySizeSpinner = new JSpinner(new SpinnerNumberModel(64, 1, Integer.MAX_VALUE, 1));
         settingsPanel.add(memorySizeLabel, gbc);
 
         gbc.gridx = 1; // Column 1
@@ -227,7 +362,7 @@ public class PagingGUI extends JPanel {
         gbc.gridx = 0; // Reset to Column 0 for next component
         gbc.gridy = 1; // Next row
         JLabel frameSizeLabel = new JLabel("Kích thước khung trang:");
-        JSpinner frameSizeSpinner = new JSpinner(new SpinnerNumberModel(4, 1, 1024, 1));
+        JSpinner frameSizeSpinner = new JSpinner(new SpinnerNumberModel(4, 1, Integer.MAX_VALUE, 1));
         settingsPanel.add(frameSizeLabel, gbc);
 
         gbc.gridx = 1; // Column 1 for spinner
@@ -240,7 +375,7 @@ public class PagingGUI extends JPanel {
         gbc.weightx = 0; // Reset extra space distribution
 
         JLabel osSizeLabel = new JLabel("Kích thước Hệ điều hành:");
-        JSpinner osSizeSpinner = new JSpinner(new SpinnerNumberModel(4, 1, 64, 1));
+        JSpinner osSizeSpinner = new JSpinner(new SpinnerNumberModel(4, 1, Integer.MAX_VALUE, 1));
         settingsPanel.add(osSizeLabel, gbc);
 
         gbc.gridx = 1; // Column 1 for spinner
@@ -260,8 +395,7 @@ public class PagingGUI extends JPanel {
             int memorySize = (Integer) memorySizeSpinner.getValue();
             int frameSize = (Integer) frameSizeSpinner.getValue();
             int osSize = (Integer) osSizeSpinner.getValue();
-            initializeMemory(memorySize, frameSize, osSize);
-            addButton.setEnabled(true); // Enable the add program button after initialization
+            initializeMemory(memorySize, frameSize, osSize); // Enables the add program button once memory is shown
         });
         settingsPanel.add(confirmButton, gbc);
 
@@ -293,7 +427,7 @@ public class PagingGUI extends JPanel {
 
         // Size label and spinner
         JLabel sizeLabel = new JLabel("Kích thước:");
-        JSpinner sizeSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 64, 1));
+        JSpinner sizeSpinner = new JSpinner(new SpinnerNumberModel(1, 1, Integer.MAX_VALUE, 1));
         gbc.gridx = 0;
         gbc.gridy = 1;
         addProgramPanel.add(sizeLabel, gbc);
@@ -342,22 +476,17 @@ public class PagingGUI extends JPanel {
             int programSize = (Integer) sizeSpinner.getValue();
             Color programColor = colorButton.getBackground();
 
-            try {
-                paging.addProgram(programName, programSize, programColor);
-            } catch (IllegalArgumentException ex) {
-                JOptionPane.showMessageDialog(this, ex.getMessage(), "Lỗi", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            updateMemoryTable();
-            updatePagesTable();
-
-            // Random color for the color button
-            float hue = rand.nextFloat();
-            float saturation = 0.3f + rand.nextFloat() * 0.3f;
-            float brightness = 0.95f + rand.nextFloat() * 0.05f;
-            colorButton.setBackground(Color.getHSBColor(hue, saturation, brightness));
-
-            accessButton.setEnabled(true); // Enable the access memory button after adding a segment
+            runner.submit("Nạp chương trình " + programName,
+                    progress -> paging.addProgram(programName, programSize, programColor),
+                    program -> {
+                        // Random color for the color button
+                        float hue = rand.nextFloat();
+                        float saturation = 0.3f + rand.nextFloat() * 0.3f;
+                        float brightness = 0.95f + rand.nextFloat() * 0.05f;
+                        colorButton.setBackground(Color.getHSBColor(hue, saturation, brightness));
+
+                        accessButton.setEnabled(true); // Enable the access memory button after adding a segment
+                    }, this::showError);
         });
 
         return addProgramPanel;
@@ -394,12 +523,7 @@ public class PagingGUI extends JPanel {
 
         // Table for programs in memory and their pages
         String[] pagesColumnNames = {"Số hiệu CT", "Tên chương trình", "Số hiệu trang", "Dấu hiệu (M)", "Địa chỉ (A)", "Màu"};
-        pagesTable = new JTable(new DefaultTableModel(new Object[0][6], pagesColumnNames) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        });
+        pagesTable = new JTable(new EntryTableModel(pagesColumnNames));
         
         // Merge cells with the same value in the first two columns
         pagesTable.getColumnModel().getColumn(0).setCellRenderer(new MergedCellRenderer()); // Program ID
@@ -417,21 +541,26 @@ public class PagingGUI extends JPanel {
 
     // Update the pages table with the current state of paging
     private void updatePagesTable() {
-        DefaultTableModel model = (DefaultTableModel) pagesTable.getModel();
-        model.setRowCount(0); // Clear existing rows
-        // Add a new row for each page
+        List<Object[]> rows = new ArrayList<>();
         for (Program program : paging.getPrograms()) {
-            for (Page page : program.getPages()) {
-                Object[] row = new Object[]{
-                        (program.getPID() >= 0 ? program.getPID() : null),
-                        program.getName(),
-                        page.getPageID(),
-                        page.getMark(),
-                        page.getAddress(),
-                        program.getColor()
-                };
-                model.addRow(row);
-            }
+            addPageRows(rows, program);
+        }
+        ((EntryTableModel) pagesTable.getModel()).setRows(rows);
+    }
+
+
+    // Add a row for each page of a program
+    private void addPageRows(List<Object[]> rows, Program program) {
+        for (Page page : program.getPages()) {
+            Object[] row = new Object[]{
+                    (program.getPID() >= 0 ? program.getPID() : null),
+                    program.getName(),
+                    page.getPageID(),
+                    page.getMark(),
+                    page.getAddress(),
+                    program.getColor()
+            };
+            rows.add(row);
         }
     }
 
@@ -484,18 +613,23 @@ public class PagingGUI extends JPanel {
     
         // Display the physical address and highlight the corresponding row in the memory table when button is clicked
         accessButton.addActionListener(e -> {
+            int segmentID;
+            int offset;
             try {
-                int segmentID = Integer.parseInt(programIDField.getText().trim());
-                int offset = Integer.parseInt(offsetField.getText().trim());
-                int physicalAddress = paging.translateAddress(segmentID, offset);
-    
+                segmentID = Integer.parseInt(programIDField.getText().trim());
+                offset = Integer.parseInt(offsetField.getText().trim());
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Vui lòng nhập số hợp lệ.", "Lỗi", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            runner.submit("Truy nhập bộ nhớ", progress -> paging.translateAddress(segmentID, offset), physicalAddress -> {
                 // Display the physical address
                 resultLabel.setText("Địa chỉ vật lý: " + physicalAddress);
-    
+
                 // Highlight and scroll to the corresponding row in the memory table
                 memoryTable.setRowSelectionInterval(physicalAddress, physicalAddress);
                 memoryTable.scrollRectToVisible(memoryTable.getCellRect(physicalAddress, 0, true));
-    
+
                 // Highlight and scroll to the corresponding row in the segments table
                 for (int i = 1; i < pagesTable.getRowCount(); i++) {
                     if ((int) pagesTable.getValueAt(i, 0) == segmentID) {
@@ -504,16 +638,13 @@ public class PagingGUI extends JPanel {
                         break;
                     }
                 }
-            } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Vui lòng nhập số hợp lệ.", "Lỗi", JOptionPane.ERROR_MESSAGE);
-            } catch (IllegalArgumentException ex) {
-                JOptionPane.showMessageDialog(this, ex.getMessage(), "Lỗi", JOptionPane.ERROR_MESSAGE);
-            }
+            }, this::showError);
         });
 
         // Back to menu button
         JButton back = new JButton("Trở về Menu");
         back.addActionListener(e -> {
+            runner.cancelAll();
             Menu menu = new Menu(window);
             window.remove(this);
             window.add(menu);
@@ -556,9 +687,10 @@ public class PagingGUI extends JPanel {
             }
             int confirm = JOptionPane.showConfirmDialog(this, "Bạn có chắc muốn xóa chương trình '" + name + "'?", "Xác nhận", JOptionPane.YES_NO_OPTION);
             if (confirm == JOptionPane.YES_OPTION) {
-                paging.deleteProgram(program.getName());
-                updateMemoryTable();
-                updatePagesTable();
+                runner.submit("Xóa chương trình " + name, progress -> {
+                    paging.deleteProgram(program.getName());
+                    return null;
+                }, result -> { }, this::showError);
                 deleteButton.setEnabled(false);
             }
         }
@@ -0,0 +1,37 @@
+package gui;
+
+import javax.swing.AbstractListModel;
+import java.util.function.IntFunction;
+
+// Row headers of the memory table, produced on demand for the visible rows instead of being stored for every address
+class RowHeaderModel extends AbstractListModel<String> {
+    private int size; // Number of rows
+    private IntFunction<String> header; // Header of each row
+
+    RowHeaderModel() {
+        this.header = row -> "";
+    }
+
+    // Show the given number of rows with headers from the given function
+    void setRows(int size, IntFunction<String> header) {
+        int oldSize = this.size;
+        this.size = size;
+        this.header = header;
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        if (size > 0) {
+            fireIntervalAdded(this, 0, size - 1);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        return header.apply(index);
+    }
+}
@@ -1,5 +1,7 @@
 package gui;
 
+import model.HeatMap;
+import model.MemoryEvent;
 import model.Segmentation;
 import model.Segment;
 
@@ -8,18 +10,30 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.table.*;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
 
 
 public class SegmentationGUI extends JPanel {
+    private static final int FREE_RUN = Integer.MIN_VALUE; // Owner of a run of free memory
 
     private final JFrame window; // Parent window
     private final Segmentation segmentation; // Segmentation model
-    private DefaultTableModel memoryTableModel;
+    private MemoryTableModel memoryTableModel;
     private JTable memoryTable;
     private final String[] memoryColumnNames = {""};
+    private RowHeaderModel memoryRowHeaderModel;
     private JList<String> memoryRowHeader;
+    private final OwnerCache<Segment> segmentColors; // Segments and their colors for painting the memory table
+    private int runStart; // First address of the run of memory painted last, held by one segment or free
+    private int runEnd; // Address after the run of memory painted last
+    private int runOwner; // SID of the segment holding the run painted last, or FREE_RUN
+    private MemoryMapPanel memoryMap; // Bitmap view of the memory
+    private final ModelTaskRunner runner; // Runs the operations on the segmentation off the event dispatch thread
+    private boolean memoryShown; // Whether the views show the memory, false while it is being initialized
     private JButton addButton;
     private JButton deleteButton;
     private JButton accessButton;
@@ -29,6 +43,10 @@ public class SegmentationGUI extends JPanel {
     public SegmentationGUI(JFrame window) {
         this.window = window;
         this.segmentation = new Segmentation();
+        this.segmentColors = new OwnerCache<>(segmentation::findSegmentBySID, Segment::getColor);
+        this.runner = new ModelTaskRunner();
+        // Keep the tables in step with the segmentation, applying its changes on the event dispatch thread in batches
+        segmentation.addMemoryListener(new MemoryEventQueue(this::applyMemoryChanges));
 
         // Set up window and layout
         window.setSize(1400, 500);
@@ -67,42 +85,14 @@ public class SegmentationGUI extends JPanel {
         JPanel memoryPanel = new JPanel(new BorderLayout());
         memoryPanel.setBorder(new TitledBorder("Bộ nhớ"));
 
-        Object[][] data = new Object[0][];
-        memoryTableModel = new DefaultTableModel(data, memoryColumnNames) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        memoryTableModel = new MemoryTableModel(memoryColumnNames, false);
 
         // Set the table and cell color renderer
         memoryTable = new JTable(memoryTableModel) {
             @Override
             public Component prepareRenderer(TableCellRenderer renderer, int row, int column) {
                 Component c = super.prepareRenderer(renderer, row, column);
-                Object value = getModel().getValueAt(row, column);
-
-                if ("OS".equals(value)) { // Check if the value is "OS"
-                    c.setBackground(Color.LIGHT_GRAY); // Color the row light grey
-                } else if (value != null && value.toString().contains("Đoạn ")) { // Check if the value contains segment ID
-                    try {
-                        String sidStr = value.toString().split(",")[0].split(" ")[1]; // Extract segment ID
-                        int sid = Integer.parseInt(sidStr);
-                        Segment segment = segmentation.findSegmentBySID(sid);
-                        if (segment != null) {
-                            c.setBackground(segment.getColor()); // Set the background color to the segment's color
-                            if (isRowSelected(row)) {
-                                c.setBackground(c.getBackground().darker()); // Make selected row darker
-                            }
-                        } else {
-                            c.setBackground(Color.WHITE); // Default color if program not found
-                        }
-                    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
-                        c.setBackground(Color.WHITE); // Fallback in case of parsing error
-                    }
-                } else {
-                    c.setBackground(Color.WHITE); // Default color for other cells
-                }
+                c.setBackground(getMemoryColor(row, isRowSelected(row)));
                 return c;
             }
         };
@@ -113,9 +103,9 @@ public class SegmentationGUI extends JPanel {
         memoryTable.setGridColor(Color.GRAY);
 
         // Set row header (memory address)
-        String[] rowHeaders = new String[data.length];
-        memoryRowHeader = new JList<>(rowHeaders);
-        memoryRowHeader.setFixedCellWidth(50);
+        memoryRowHeaderModel = new RowHeaderModel();
+        memoryRowHeader = new JList<>(memoryRowHeaderModel);
+        memoryRowHeader.setFixedCellWidth(80);
         memoryRowHeader.setFixedCellHeight(memoryTable.getRowHeight());
         memoryRowHeader.setCellRenderer(new RowHeaderRenderer(memoryTable));
 
@@ -123,40 +113,185 @@ public class SegmentationGUI extends JPanel {
         JScrollPane scrollPane = new JScrollPane(memoryTable);
         scrollPane.setRowHeaderView(memoryRowHeader);
 
-        memoryPanel.add(scrollPane, BorderLayout.CENTER);
+        // Show the memory as a table or as a zoomable map
+        memoryMap = new MemoryMapPanel();
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Bảng", scrollPane);
+        tabs.addTab("Bản đồ", memoryMap);
+        memoryPanel.add(tabs, BorderLayout.CENTER);
+        memoryPanel.add(runner.getStatusBar(), BorderLayout.SOUTH);
 
         return memoryPanel;
     }
 
 
-    // Initialize memory and segments table with the given memory size and OS size
+    // Initialize memory with the given memory size and OS size in the background; the tables show the new memory
+    // when its reset event arrives
     private void initializeMemory(int memorySize, int osSize) {
-        // Initialize memory table model with the correct number of rows
-        memoryTableModel.setDataVector(new Object[memorySize][1], memoryColumnNames);
+        addButton.setEnabled(false);
+        runner.submit("Khởi tạo bộ nhớ", progress -> {
+            // Counters per cell of the memory map, which may be large
+            progress.step("Tạo bản đồ nhiệt", 0, 2);
+            int cellSize = MemoryMapPanel.cellSizeFor(memorySize, 1);
+            HeatMap heatMap = new HeatMap(cellSize, (int) (((long) memorySize + cellSize - 1) / cellSize));
+            if (progress.isCancelled()) {
+                return null;
+            }
+
+            // The views must not read the segmentation while it is initialized, which takes a single quick step and
+            // keeps the previous memory if it fails
+            progress.step("Khởi tạo bộ nhớ", 1, 2);
+            HeatMap previousHeatMap = segmentation.getHeatMap();
+            try {
+                SwingUtilities.invokeAndWait(this::hideMemory);
+                segmentation.setHeatMap(heatMap);
+                segmentation.initializeMemory(memorySize, osSize);
+            } catch (Throwable e) {
+                restoreMemory(previousHeatMap);
+                throw e;
+            }
+            return null;
+        }, result -> { }, this::showError, () -> addButton.setEnabled(memoryShown));
+    }
+
+
+    // Show the previous memory again after a new one was not initialized, which leaves the segmentation unchanged;
+    // called on the background thread
+    private void restoreMemory(HeatMap previousHeatMap) {
+        segmentation.setHeatMap(previousHeatMap);
+        if (previousHeatMap != null) {
+            SwingUtilities.invokeLater(this::showMemory);
+        }
+    }
+
+
+    // Empty the views of the memory before it is initialized again
+    private void hideMemory() {
+        memoryShown = false;
+        addButton.setEnabled(false);
+        runEnd = 0;
+        memoryTableModel.setMemory(List.of());
+        memoryRowHeaderModel.setRows(0, address -> "");
+        memoryMap.clear();
+        ((EntryTableModel) segmentsTable.getModel()).setRows(List.of());
+    }
 
-        // Initialize memory, add OS segment, and update tables
-        segmentation.initializeMemory(memorySize, osSize);
-        updateMemoryTable();
+
+    // Show a newly initialized memory in every view
+    private void showMemory() {
+        segmentColors.clear();
+        memoryTableModel.setMemory(segmentation.getMemory());
+        memoryRowHeaderModel.setRows(segmentation.getMemorySize(), address -> "@" + address);
         updateSegmentsTable();
-        updateRowHeaders(memorySize);
+        HeatMap heatMap = segmentation.getHeatMap();
+        memoryMap.setSource(createMemoryMapSource(heatMap.getBlockSize()), heatMap);
+        memoryShown = true;
+        addButton.setEnabled(true);
+    }
+
+
+    // Show the failure of an operation
+    private void showError(Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.toString();
+        JOptionPane.showMessageDialog(this, message, "Lỗi", JOptionPane.ERROR_MESSAGE);
+    }
+
+
+    // Color of a memory cell. Rows are painted in order, so the run of memory of the previous cell usually holds the
+    // address too and the segmentation is only searched where a segment or hole starts.
+    private Color getMemoryColor(int address, boolean selected) {
+        findRun(address);
+        if (runOwner == FREE_RUN) {
+            return Color.WHITE;
+        }
+        return runOwner < 0 ? Color.LIGHT_GRAY : segmentColors.getColor(runOwner, selected);
     }
 
 
-    // Update memory table row headers (memory address) with the current memory size
-    private void updateRowHeaders(int memorySize) {
-        String[] newHeaders = new String[memorySize];
-        for (int i = 0; i < memorySize; i++) {
-            newHeaders[i] = "@" + i;
+    // Move the cached run of memory to the one holding an address
+    private void findRun(int address) {
+        if (address < runStart || address >= runEnd) {
+            Segment segment = segmentation.findSegmentAt(address);
+            if (segment == null) {
+                runStart = address;
+                runEnd = segmentation.nextSegmentAddress(address);
+                runOwner = FREE_RUN;
+            } else {
+                runStart = segment.getAddress();
+                runEnd = runStart + segmentation.getAllocatedSize(segment);
+                runOwner = segment.getSID();
+            }
         }
-        memoryRowHeader.setListData(newHeaders);
     }
 
 
-    // Update the memory table with the current state of the segmentation
-    private void updateMemoryTable() {
-        List<String> memory = segmentation.getMemory();
-        for (int i = 0; i < memory.size(); i++) {
-            memoryTableModel.setValueAt(memory.get(i), i, 0); // Update the content column (1st column)
+    // Memory of the segmentation for the memory map, a cell being the given number of bytes and colored by its first
+    // address
+    private MemoryMapSource createMemoryMapSource(int cellSize) {
+        int cellCount = (int) ((segmentation.getMemorySize() + (long) cellSize - 1) / cellSize);
+        return new MemoryMapSource() {
+            @Override
+            public int getCellCount() {
+                return cellCount;
+            }
+
+            @Override
+            public int getCellSize() {
+                return cellSize;
+            }
+
+            @Override
+            public void fillCells(int firstCell, int count, int[] pixels, int offset) {
+                for (int i = 0; i < count; i++) {
+                    findRun((firstCell + i) * cellSize);
+                    if (runOwner == FREE_RUN) {
+                        pixels[offset + i] = FREE;
+                    } else if (runOwner < 0) {
+                        pixels[offset + i] = Color.LIGHT_GRAY.getRGB();
+                    } else {
+                        pixels[offset + i] = segmentColors.getColor(runOwner, false).getRGB();
+                    }
+                }
+            }
+
+            @Override
+            public String describeCell(int cell) {
+                return segmentation.getMemoryLabel(cell * cellSize);
+            }
+        };
+    }
+
+
+    // Bring the views up to date with a batch of changes of the segmentation, touching only the rows of the changed
+    // ranges and segments; a new memory is shown whole
+    private void applyMemoryChanges(List<MemoryEvent> events) {
+        runEnd = 0; // Segments may have moved
+        // Changes before the latest reset are already part of the new memory
+        int first = 0;
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i).isReset()) {
+                first = i;
+            }
+        }
+        if (events.get(first).isReset()) {
+            showMemory();
+            first++;
+        }
+        if (!memoryShown) {
+            return;
+        }
+        Set<Integer> entries = new TreeSet<>();
+        for (MemoryEvent event : events.subList(first, events.size())) {
+            memoryTableModel.fireRangesUpdated(event);
+            memoryMap.memoryChanged(event);
+            for (int i = 0; i < event.getEntryCount(); i++) {
+                entries.add(event.getEntry(i));
+            }
+        }
+        EntryTableModel model = (EntryTableModel) segmentsTable.getModel();
+        for (int sid : entries) {
+            Segment segment = segmentation.findSegmentBySID(sid);
+            model.replaceRows(sid, segment == null ? List.of() : List.<Object[]>of(segmentRow(segment)));
         }
     }
 
@@ -191,7 +326,7 @@ public class SegmentationGUI extends JPanel {
 
         // Memory size label and spinner
         JLabel memorySizeLabel = new JLabel("Kích thước bộ nhớ:");
-        JSpinner memorySizeSpinner = new JSpinner(new SpinnerNumberModel(64, 1, 1024, 1));
+        JSpinner memorySizeSpinner = new JSpinner(new SpinnerNumberModel(64, 1, Integer.MAX_VALUE, 1));
         settingsPanel.add(memorySizeLabel, gbc);
 
         gbc.gridx = 1; // Column 1
@@ -203,7 +338,7 @@ public class SegmentationGUI extends JPanel {
         gbc.gridx = 0; // Reset to Column 0 for next component
         gbc.gridy = 1; // Next row
         JLabel osSizeLabel = new JLabel("Kích thước Hệ điều hành:");
-        JSpinner osSizeSpinner = new JSpinner(new SpinnerNumberModel(4, 1, 64, 1));
+        JSpinner osSizeSpinner = new JSpinner(new SpinnerNumberModel(4, 1, Integer.MAX_VALUE, 1));
         settingsPanel.add(osSizeLabel, gbc);
 
         gbc.gridx = 1; // Column 1 for spinner
@@ -220,8 +355,7 @@ public class SegmentationGUI extends JPanel {
         confirmButton.addActionListener(e -> {
             int memorySize = (Integer) memorySizeSpinner.getValue();
             int osSize = (Integer) osSizeSpinner.getValue();
-            initializeMemory(memorySize, osSize);
-            addButton.setEnabled(true); // Enable the add segment button after initialization
+            initializeMemory(memorySize, osSize); // Enables the add segment button once memory is shown
         });
         settingsPanel.add(confirmButton, gbc);
 
@@ -251,7 +385,7 @@ public class SegmentationGUI extends JPanel {
 
         // Size label and spinner
         JLabel sizeLabel = new JLabel("Kích thước:");
-        JSpinner sizeSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 64, 1));
+        JSpinner sizeSpinner = new JSpinner(new SpinnerNumberModel(1, 1, Integer.MAX_VALUE, 1));
         gbc.gridx = 0;
         gbc.gridy = 1;
         addSegmentPanel.add(sizeLabel, gbc);
@@ -300,22 +434,17 @@ public class SegmentationGUI extends JPanel {
             int segmentSize = (Integer) sizeSpinner.getValue();
             Color segmentColor = colorButton.getBackground();
 
-            try {
-                segmentation.addSegment(segmentName, segmentSize, segmentColor);
-            } catch (IllegalArgumentException ex) {
-                JOptionPane.showMessageDialog(this, ex.getMessage(), "Lỗi", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            updateMemoryTable();
-            updateSegmentsTable();
-
-            // Random color for the color button
-            float hue = rand.nextFloat();
-            float saturation = 0.3f + rand.nextFloat() * 0.3f;
-            float brightness = 0.95f + rand.nextFloat() * 0.05f;
-            colorButton.setBackground(Color.getHSBColor(hue, saturation, brightness));
-
-            accessButton.setEnabled(true); // Enable the access memory button after adding a segment
+            runner.submit("Nạp đoạn " + segmentName,
+                    progress -> segmentation.addSegment(segmentName, segmentSize, segmentColor),
+                    segment -> {
+                        // Random color for the color button
+                        float hue = rand.nextFloat();
+                        float saturation = 0.3f + rand.nextFloat() * 0.3f;
+                        float brightness = 0.95f + rand.nextFloat() * 0.05f;
+                        colorButton.setBackground(Color.getHSBColor(hue, saturation, brightness));
+
+                        accessButton.setEnabled(true); // Enable the access memory button after adding a segment
+                    }, this::showError);
         });
 
         return addSegmentPanel;
@@ -352,12 +481,7 @@ public class SegmentationGUI extends JPanel {
 
         // Table for segments in memory
         String[] segmentsColumnNames = {"Số hiệu đoạn", "Tên đoạn", "Dấu hiệu (M)", "Địa chỉ (A)", "Độ dài (L)", "Màu"};
-        segmentsTable = new JTable(new DefaultTableModel(new Object[0][6], segmentsColumnNames) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        });
+        segmentsTable = new JTable(new EntryTableModel(segmentsColumnNames));
 
         // Display color in the color column
         segmentsTable.getColumnModel().getColumn(5).setCellRenderer((TableCellRenderer) new ColorRenderer());
@@ -372,20 +496,24 @@ public class SegmentationGUI extends JPanel {
 
     // Update the segments table with the current state of segmentation
     private void updateSegmentsTable() {
-        DefaultTableModel model = (DefaultTableModel) segmentsTable.getModel();
-        model.setRowCount(0); // Clear existing rows
-        // Add a new row for each segment
+        List<Object[]> rows = new ArrayList<>();
         for (Segment segment : segmentation.getSegments()) {
-            Object[] row = new Object[]{
-                    (segment.getSID() >= 0 ? segment.getSID() : null),
-                    segment.getName(),
-                    segment.getMark(),
-                    segment.getAddress(),
-                    segment.getLength(),
-                    segment.getColor()
-            };
-            model.addRow(row);
+            rows.add(segmentRow(segment));
         }
+        ((EntryTableModel) segmentsTable.getModel()).setRows(rows);
+    }
+
+
+    // Row of a segment in the segments table
+    private Object[] segmentRow(Segment segment) {
+        return new Object[]{
+                (segment.getSID() >= 0 ? segment.getSID() : null),
+                segment.getName(),
+                segment.getMark(),
+                segment.getAddress(),
+                segment.getLength(),
+                segment.getColor()
+        };
     }
 
 
@@ -437,18 +565,23 @@ public class SegmentationGUI extends JPanel {
     
         // Display the physical address and highlight the corresponding row in the memory table when button is clicked
         accessButton.addActionListener(e -> {
+            int segmentID;
+            int offset;
             try {
-                int segmentID = Integer.parseInt(segmentIDField.getText().trim());
-                int offset = Integer.parseInt(offsetField.getText().trim());
-                int physicalAddress = segmentation.translateAddress(segmentID, offset);
-    
+                segmentID = Integer.parseInt(segmentIDField.getText().trim());
+                offset = Integer.parseInt(offsetField.getText().trim());
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Vui lòng nhập số hợp lệ.", "Lỗi", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            runner.submit("Truy nhập bộ nhớ", progress -> segmentation.translateAddress(segmentID, offset), physicalAddress -> {
                 // Display the physical address
                 resultLabel.setText("Địa chỉ vật lý: " + physicalAddress);
-    
+
                 // Highlight and scroll to the corresponding row in the memory table
                 memoryTable.setRowSelectionInterval(physicalAddress, physicalAddress);
                 memoryTable.scrollRectToVisible(memoryTable.getCellRect(physicalAddress, 0, true));
-    
+
                 // Highlight and scroll to the corresponding row in the segments table
                 for (int i = 1; i < segmentsTable.getRowCount(); i++) {
                     if ((int) segmentsTable.getValueAt(i, 0) == segmentID) {
@@ -457,16 +590,13 @@ public class SegmentationGUI extends JPanel {
                         break;
                     }
                 }
-            } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Vui lòng nhập số hợp lệ.", "Lỗi", JOptionPane.ERROR_MESSAGE);
-            } catch (IllegalArgumentException ex) {
-                JOptionPane.showMessageDialog(this, ex.getMessage(), "Lỗi", JOptionPane.ERROR_MESSAGE);
-            }
+            }, this::showError);
         });
 
         // Back to menu button
         JButton back = new JButton("Trở về Menu");
         back.addActionListener(e -> {
+            runner.cancelAll();
             Menu menu = new Menu(window);
             window.remove(this);
             window.add(menu);
@@ -530,9 +660,10 @@ public class SegmentationGUI extends JPanel {
 
             int confirm = JOptionPane.showConfirmDialog(this, "Bạn có chắc muốn xóa đoạn \"" + name + "\"?", "Xác nhận", JOptionPane.YES_NO_OPTION);
             if (confirm == JOptionPane.YES_OPTION) {
-                segmentation.removeSegment(sid); // Gọi phương thức từ Segmentation.java
-                updateMemoryTable();
-                updateSegmentsTable();
+                runner.submit("Xóa đoạn " + name, progress -> {
+                    segmentation.removeSegment(sid); // Gọi phương thức từ Segmentation.java
+                    return null;
+                }, result -> { }, this::showError);
                 deleteButton.setEnabled(false);
             }
         }
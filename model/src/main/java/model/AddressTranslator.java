@@ -0,0 +1,12 @@
+package model;
+
+// A memory manager that translates logical addresses of a program or segment into physical addresses
+public interface AddressTranslator {
+    // Translate a logical address, throwing IllegalArgumentException if the access is invalid
+    long translate(int id, long logicalAddress, boolean write);
+
+    // Number of faults raised by translations so far
+    default long getFaultCount() {
+        return 0;
+    }
+}
@@ -0,0 +1,256 @@
+package model;
+
+import java.util.TreeSet;
+
+// Binary buddy allocator over the addresses [reservedSize, memorySize). Free blocks are kept in one address-ordered
+// set per order, so memory use grows with the number of free blocks rather than the memory size, each split or
+// coalesce step is O(log n) in the free blocks of its order, and the lowest free block of an order is taken first.
+public class BuddyAllocator {
+    private final int memorySize; // Size of memory in bytes
+    private final int maxOrder; // Order of the largest block that fits in memory
+    private final TreeSet<Integer>[] freeBlocks; // Addresses of the free blocks of each order
+    private long freeSize; // Total size of the free blocks
+    private int freeBlockCount; // Number of free blocks
+    private long allocatedSize; // Total size of the allocated blocks
+    private long requestedSize; // Total size requested for the allocated blocks
+
+    // Manage the memory after the first reservedSize bytes, which are never handed out
+    public BuddyAllocator(int memorySize, int reservedSize) {
+        if (memorySize <= 0 || reservedSize < 0 || reservedSize > memorySize) {
+            throw new IllegalArgumentException("Kích thước bộ nhớ không hợp lệ cho hệ thống buddy.");
+        }
+        this.memorySize = memorySize;
+        this.maxOrder = 31 - Integer.numberOfLeadingZeros(memorySize);
+        this.freeBlocks = newFreeBlocks(maxOrder + 1);
+        for (int order = 0; order <= maxOrder; order++) {
+            freeBlocks[order] = new TreeSet<>();
+        }
+
+        // Cover the free range with the largest aligned blocks that fit
+        int address = reservedSize;
+        while (address < memorySize) {
+            int order = Math.min(Integer.numberOfTrailingZeros(address), 31 - Integer.numberOfLeadingZeros(memorySize - address));
+            push(address, order);
+            address += 1 << order;
+        }
+    }
+
+    // Size of the block handed out for a request of the given size
+    public static int blockSize(int size) {
+        return 1 << orderOf(size);
+    }
+
+    public int getMemorySize() {
+        return memorySize;
+    }
+
+    public long getFreeSize() {
+        return freeSize;
+    }
+
+    public int getFreeBlockCount() {
+        return freeBlockCount;
+    }
+
+    // Number of free blocks of the given order
+    public int getFreeBlockCount(int order) {
+        return order < 0 || order > maxOrder ? 0 : freeBlocks[order].size();
+    }
+
+    public int getMaxOrder() {
+        return maxOrder;
+    }
+
+    // Size of the largest free block, or 0 if memory is full
+    public int getLargestFreeBlock() {
+        for (int order = maxOrder; order >= 0; order--) {
+            if (!freeBlocks[order].isEmpty()) {
+                return 1 << order;
+            }
+        }
+        return 0;
+    }
+
+    public long getAllocatedSize() {
+        return allocatedSize;
+    }
+
+    public long getRequestedSize() {
+        return requestedSize;
+    }
+
+    // Bytes allocated past the end of the requests because blocks are rounded up to a power of two
+    public long getInternalFragmentation() {
+        return allocatedSize - requestedSize;
+    }
+
+    // Allocate a block for the given size and return its address, or -1 if no free block is large enough
+    public int allocate(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Kích thước cấp phát phải lớn hơn 0.");
+        }
+        int order = orderOf(size);
+        if (order > maxOrder) {
+            return -1;
+        }
+
+        // Take the smallest free block that is large enough
+        int blockOrder = order;
+        while (blockOrder <= maxOrder && freeBlocks[blockOrder].isEmpty()) {
+            blockOrder++;
+        }
+        if (blockOrder > maxOrder) {
+            return -1;
+        }
+        int address = freeBlocks[blockOrder].first();
+        unlink(address, blockOrder);
+
+        // Split it, returning the upper halves to the free lists
+        while (blockOrder > order) {
+            blockOrder--;
+            push(address + (1 << blockOrder), blockOrder);
+        }
+        allocatedSize += 1 << order;
+        requestedSize += size;
+        return address;
+    }
+
+    // Allocate the block at the address for the given size, splitting the free block that holds it, and return
+    // whether that block was free
+    public boolean allocateAt(int address, int size) {
+        int order = orderOf(size);
+        if (order > maxOrder || address < 0 || address >= memorySize || (address & ((1 << order) - 1)) != 0) {
+            return false;
+        }
+        // Find the free block holding the address, from the block itself up to the largest order
+        int blockOrder = order;
+        while (blockOrder <= maxOrder && !freeBlocks[blockOrder].contains(address & -(1 << blockOrder))) {
+            blockOrder++;
+        }
+        if (blockOrder > maxOrder) {
+            return false;
+        }
+        int block = address & -(1 << blockOrder);
+        unlink(block, blockOrder);
+
+        // Split it, returning the halves that do not hold the address to the free lists
+        while (blockOrder > order) {
+            blockOrder--;
+            int upper = block + (1 << blockOrder);
+            if (address >= upper) {
+                push(block, blockOrder);
+                block = upper;
+            } else {
+                push(upper, blockOrder);
+            }
+        }
+        allocatedSize += 1 << order;
+        requestedSize += size;
+        return true;
+    }
+
+    // Free the block allocated at the address for the given size, coalescing it with its free buddies
+    public void free(int address, int size) {
+        int order = orderOf(size);
+        if (address < 0 || address >= memorySize || (address & ((1 << order) - 1)) != 0 || isFree(address)) {
+            throw new IllegalArgumentException("Khối nhớ tại địa chỉ " + address + " không được cấp phát.");
+        }
+        allocatedSize -= 1 << order;
+        requestedSize -= size;
+
+        // Merge with the buddy while it is a free block of the same order
+        while (order < maxOrder) {
+            int buddy = address ^ (1 << order);
+            if (buddy >= memorySize || !freeBlocks[order].contains(buddy)) {
+                break;
+            }
+            unlink(buddy, order);
+            address = Math.min(address, buddy);
+            order++;
+        }
+        push(address, order);
+    }
+
+
+    // Resize the block allocated at the address and return its new address. The block shrinks in place by freeing
+    // its upper halves, and grows in place when the buddies that would merge with it are free; otherwise a new block
+    // is allocated and the old one freed. Returns -1, keeping the old block, if no free block is large enough.
+    public int resize(int address, int oldSize, int newSize) {
+        if (newSize <= 0) {
+            throw new IllegalArgumentException("Kích thước cấp phát phải lớn hơn 0.");
+        }
+        int oldOrder = orderOf(oldSize);
+        int newOrder = orderOf(newSize);
+        if (newOrder < oldOrder) {
+            // Give back the upper halves of the block
+            for (int order = oldOrder - 1; order >= newOrder; order--) {
+                push(address + (1 << order), order);
+            }
+        } else if (newOrder > oldOrder) {
+            if (!canGrowInPlace(address, oldOrder, newOrder)) {
+                int newAddress = allocate(newSize);
+                if (newAddress != -1) {
+                    free(address, oldSize);
+                }
+                return newAddress;
+            }
+            for (int order = oldOrder; order < newOrder; order++) {
+                unlink(address + (1 << order), order);
+            }
+        }
+        allocatedSize += (1L << newOrder) - (1L << oldOrder);
+        requestedSize += newSize - oldSize;
+        return address;
+    }
+
+
+    // Whether the block is the lower half at every order up to the new one and all the upper halves are free
+    private boolean canGrowInPlace(int address, int oldOrder, int newOrder) {
+        if (newOrder > maxOrder || (address & ((1 << newOrder) - 1)) != 0 || address + (1L << newOrder) > memorySize) {
+            return false;
+        }
+        for (int order = oldOrder; order < newOrder; order++) {
+            if (!freeBlocks[order].contains(address + (1 << order))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    // Order of the smallest block holding the given size
+    private static int orderOf(int size) {
+        return size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+
+    // Whether a free block of any order starts at the address
+    private boolean isFree(int address) {
+        for (TreeSet<Integer> blocks : freeBlocks) {
+            if (blocks.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static TreeSet<Integer>[] newFreeBlocks(int orders) {
+        return (TreeSet<Integer>[]) new TreeSet[orders];
+    }
+
+
+    private void push(int address, int order) {
+        freeBlocks[order].add(address);
+        freeBlockCount++;
+        freeSize += 1 << order;
+    }
+
+
+    private void unlink(int address, int order) {
+        freeBlocks[order].remove(address);
+        freeBlockCount--;
+        freeSize -= 1 << order;
+    }
+}
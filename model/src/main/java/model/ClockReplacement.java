@@ -0,0 +1,67 @@
+package model;
+
+// Clock replacement: a hand sweeps a circular list of resident frames, clearing reference bits until it finds an unreferenced page
+public class ClockReplacement implements ReplacementPolicy {
+    private final FrameList ring = new FrameList(); // Resident frames, treated as circular
+    private boolean[] referenced = new boolean[0]; // Reference bit of each frame
+    private int hand = -1; // Frame the clock hand points at, -1 if no frame is resident
+
+    @Override
+    public void reset(int frameCount) {
+        ring.reset(frameCount);
+        referenced = new boolean[frameCount];
+        hand = -1;
+    }
+
+    @Override
+    public void pageLoaded(int frame) {
+        // New pages are inserted just behind the hand so they are examined last
+        if (hand == -1) {
+            ring.addLast(frame);
+            hand = frame;
+        } else {
+            ring.addBefore(frame, hand);
+        }
+        referenced[frame] = true;
+    }
+
+    @Override
+    public void pageAccessed(int frame) {
+        referenced[frame] = true;
+    }
+
+    @Override
+    public void pageRemoved(int frame) {
+        if (!ring.contains(frame)) {
+            return;
+        }
+        if (hand == frame) {
+            hand = advance(frame);
+        }
+        ring.remove(frame);
+        if (hand == frame) {
+            hand = -1; // The removed frame was the only one
+        }
+    }
+
+    @Override
+    public int selectVictim() {
+        if (hand == -1) {
+            return -1;
+        }
+        while (referenced[hand]) {
+            referenced[hand] = false;
+            hand = advance(hand);
+        }
+        int victim = hand;
+        pageRemoved(victim);
+        return victim;
+    }
+
+
+    // Get the frame after the given one, wrapping around to the first frame
+    private int advance(int frame) {
+        int next = ring.next(frame);
+        return next == -1 ? ring.first() : next;
+    }
+}
@@ -0,0 +1,76 @@
+package model;
+
+// Outcome of a compaction run: how much was moved and how the free holes looked before and after
+public class CompactionResult {
+    private final long bytesMoved; // Bytes of the segments that were relocated
+    private final int segmentsMoved; // Number of segments that were relocated
+    private final int holesBefore; // Number of free holes before compaction
+    private final int holesAfter; // Number of free holes after compaction
+    private final int largestHoleBefore; // Largest free hole before compaction
+    private final int largestHoleAfter; // Largest free hole after compaction
+    private final long freeSize; // Total free memory, which compaction does not change
+    private final boolean complete; // Whether free memory is a single hole at the top of memory
+
+    public CompactionResult(long bytesMoved, int segmentsMoved, int holesBefore, int holesAfter,
+                            int largestHoleBefore, int largestHoleAfter, long freeSize, boolean complete) {
+        this.bytesMoved = bytesMoved;
+        this.segmentsMoved = segmentsMoved;
+        this.holesBefore = holesBefore;
+        this.holesAfter = holesAfter;
+        this.largestHoleBefore = largestHoleBefore;
+        this.largestHoleAfter = largestHoleAfter;
+        this.freeSize = freeSize;
+        this.complete = complete;
+    }
+
+    public long getBytesMoved() {
+        return bytesMoved;
+    }
+
+    public int getSegmentsMoved() {
+        return segmentsMoved;
+    }
+
+    public int getHolesBefore() {
+        return holesBefore;
+    }
+
+    public int getHolesAfter() {
+        return holesAfter;
+    }
+
+    public int getLargestHoleBefore() {
+        return largestHoleBefore;
+    }
+
+    public int getLargestHoleAfter() {
+        return largestHoleAfter;
+    }
+
+    public long getFreeSize() {
+        return freeSize;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    // External fragmentation before compaction: the share of free memory outside the largest hole
+    public double getFragmentationBefore() {
+        return fragmentation(largestHoleBefore);
+    }
+
+    public double getFragmentationAfter() {
+        return fragmentation(largestHoleAfter);
+    }
+
+    // Reduction of the external fragmentation achieved by the compaction
+    public double getFragmentationRemoved() {
+        return getFragmentationBefore() - getFragmentationAfter();
+    }
+
+
+    private double fragmentation(int largestHole) {
+        return freeSize == 0 ? 0 : 1 - (double) largestHole / freeSize;
+    }
+}
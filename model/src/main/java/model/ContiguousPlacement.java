@@ -0,0 +1,31 @@
+package model;
+
+// Place consecutive pages in consecutive frames when possible, otherwise continue from the last allocation
+public class ContiguousPlacement implements PlacementPolicy {
+    private int lastFrame = -1; // Frame chosen by the previous allocation
+
+    @Override
+    public int selectFrame(FrameAllocator allocator, int pageIndex) {
+        // Extend the current run if the next frame is free
+        int next = lastFrame + 1;
+        if (next >= allocator.getFrameCount()) {
+            next = 0;
+        }
+        int frame = allocator.nextFree(next);
+        if (frame == -1) {
+            frame = allocator.nextFree(0); // Wrap around to the start of memory
+        }
+        lastFrame = frame;
+        return frame;
+    }
+
+    @Override
+    public void reset() {
+        lastFrame = -1;
+    }
+
+    @Override
+    public PlacementPolicy copy() {
+        return new ContiguousPlacement();
+    }
+}
@@ -0,0 +1,34 @@
+package model;
+
+// Evict the page that has been resident the longest
+public class FIFOReplacement implements ReplacementPolicy {
+    private final FrameList queue = new FrameList(); // Resident frames in loading order
+
+    @Override
+    public void reset(int frameCount) {
+        queue.reset(frameCount);
+    }
+
+    @Override
+    public void pageLoaded(int frame) {
+        queue.addLast(frame);
+    }
+
+    @Override
+    public void pageAccessed(int frame) {
+    }
+
+    @Override
+    public void pageRemoved(int frame) {
+        queue.remove(frame);
+    }
+
+    @Override
+    public int selectVictim() {
+        int victim = queue.first();
+        if (victim != -1) {
+            queue.remove(victim);
+        }
+        return victim;
+    }
+}
@@ -0,0 +1,156 @@
+package model;
+
+import java.util.Random;
+
+public class FrameAllocator {
+    private final int frameCount; // Number of frames managed by the allocator
+    private final long[][] levels; // Hierarchical bitmap: levels[0] has one bit per free frame, levels[k + 1] one bit per non-empty word of levels[k]
+    private final int[] freeList; // Dense list of free frames, used for O(1) random selection
+    private final int[] freeListIndex; // Position of each frame in freeList, or -1 if the frame is allocated
+    private int freeCount; // Number of free frames
+
+    public FrameAllocator(int frameCount) {
+        this.frameCount = frameCount;
+        this.freeList = new int[frameCount];
+        this.freeListIndex = new int[frameCount];
+
+        // Build the bitmap levels from the bottom up until a single word remains
+        int levelCount = 0;
+        int bits = frameCount;
+        do {
+            bits = (bits + 63) >>> 6;
+            levelCount++;
+        } while (bits > 1);
+        this.levels = new long[levelCount][];
+        bits = frameCount;
+        for (int level = 0; level < levelCount; level++) {
+            int words = (bits + 63) >>> 6;
+            levels[level] = new long[Math.max(words, 1)];
+            fillBits(levels[level], bits);
+            bits = words;
+        }
+
+        // Every frame starts free
+        for (int i = 0; i < frameCount; i++) {
+            freeList[i] = i;
+            freeListIndex[i] = i;
+        }
+        freeCount = frameCount;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    public boolean isFree(int frame) {
+        return freeListIndex[frame] >= 0;
+    }
+
+    // Find the lowest free frame at or after the given frame, or -1 if there is none
+    public int nextFree(int from) {
+        if (from >= frameCount) {
+            return -1;
+        }
+        int index = Math.max(from, 0);
+        int level = 0;
+        // Climb until a word with a free bit at or after the index is found
+        while (true) {
+            if (level == levels.length) {
+                return -1;
+            }
+            long[] words = levels[level];
+            int word = index >>> 6;
+            if (word >= words.length) {
+                return -1;
+            }
+            long candidates = words[word] & (-1L << (index & 63));
+            if (candidates != 0) {
+                index = (word << 6) + Long.numberOfTrailingZeros(candidates);
+                break;
+            }
+            level++;
+            index = word + 1;
+        }
+        // Descend to the lowest free frame below the found bit
+        while (level > 0) {
+            level--;
+            index = (index << 6) + Long.numberOfTrailingZeros(levels[level][index]);
+        }
+        return index;
+    }
+
+    // Pick a free frame uniformly at random, or -1 if there is none
+    public int randomFree(Random random) {
+        if (freeCount == 0) {
+            return -1;
+        }
+        return freeList[random.nextInt(freeCount)];
+    }
+
+    // Mark a free frame as allocated
+    public void allocate(int frame) {
+        int position = freeListIndex[frame];
+        if (position < 0) {
+            throw new IllegalArgumentException("Khung trang " + frame + " không tự do.");
+        }
+        // Swap the last free frame into the vacated position
+        int last = freeList[--freeCount];
+        freeList[position] = last;
+        freeListIndex[last] = position;
+        freeListIndex[frame] = -1;
+        clearBit(frame);
+    }
+
+    // Return an allocated frame to the free pool
+    public void free(int frame) {
+        if (freeListIndex[frame] >= 0) {
+            throw new IllegalArgumentException("Khung trang " + frame + " đã tự do.");
+        }
+        freeList[freeCount] = frame;
+        freeListIndex[frame] = freeCount++;
+        setBit(frame);
+    }
+
+
+    // Set the bit of a frame and propagate it to the upper levels
+    private void setBit(int frame) {
+        int index = frame;
+        for (long[] words : levels) {
+            int word = index >>> 6;
+            boolean wasEmpty = words[word] == 0;
+            words[word] |= 1L << (index & 63);
+            if (!wasEmpty) {
+                return; // Upper levels already know this word is non-empty
+            }
+            index = word;
+        }
+    }
+
+    // Clear the bit of a frame and propagate emptied words to the upper levels
+    private void clearBit(int frame) {
+        int index = frame;
+        for (long[] words : levels) {
+            int word = index >>> 6;
+            words[word] &= ~(1L << (index & 63));
+            if (words[word] != 0) {
+                return; // The word still has free bits
+            }
+            index = word;
+        }
+    }
+
+    // Set the first count bits of a word array
+    private static void fillBits(long[] words, int count) {
+        int fullWords = count >>> 6;
+        for (int i = 0; i < fullWords; i++) {
+            words[i] = -1L;
+        }
+        if ((count & 63) != 0) {
+            words[fullWords] = (1L << (count & 63)) - 1;
+        }
+    }
+}
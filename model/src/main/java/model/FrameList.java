@@ -0,0 +1,85 @@
+package model;
+
+// Doubly linked list of frame numbers backed by arrays, with O(1) insertion, removal and move
+class FrameList {
+    private int[] prev; // Previous frame of each frame in the list, -1 at the head
+    private int[] next; // Next frame of each frame in the list, -1 at the tail
+    private boolean[] linked; // Whether each frame is in the list
+    private int head; // First frame, -1 if the list is empty
+    private int tail; // Last frame, -1 if the list is empty
+
+    FrameList() {
+        reset(0);
+    }
+
+    void reset(int frameCount) {
+        prev = new int[frameCount];
+        next = new int[frameCount];
+        linked = new boolean[frameCount];
+        head = -1;
+        tail = -1;
+    }
+
+    boolean contains(int frame) {
+        return linked[frame];
+    }
+
+    int first() {
+        return head;
+    }
+
+    // Get the frame after the given one, or -1 at the end of the list
+    int next(int frame) {
+        return next[frame];
+    }
+
+    void addLast(int frame) {
+        prev[frame] = tail;
+        next[frame] = -1;
+        if (tail == -1) {
+            head = frame;
+        } else {
+            next[tail] = frame;
+        }
+        tail = frame;
+        linked[frame] = true;
+    }
+
+    // Insert a frame just before another frame of the list
+    void addBefore(int frame, int successor) {
+        int predecessor = prev[successor];
+        prev[frame] = predecessor;
+        next[frame] = successor;
+        prev[successor] = frame;
+        if (predecessor == -1) {
+            head = frame;
+        } else {
+            next[predecessor] = frame;
+        }
+        linked[frame] = true;
+    }
+
+    void remove(int frame) {
+        if (!linked[frame]) {
+            return;
+        }
+        if (prev[frame] == -1) {
+            head = next[frame];
+        } else {
+            next[prev[frame]] = next[frame];
+        }
+        if (next[frame] == -1) {
+            tail = prev[frame];
+        } else {
+            prev[next[frame]] = prev[frame];
+        }
+        linked[frame] = false;
+    }
+
+    void moveToLast(int frame) {
+        if (tail != frame) {
+            remove(frame);
+            addLast(frame);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package model;
+
+import java.util.Arrays;
+
+// Counters of accesses and faults for each block of physical memory, filled by a memory manager's translations so
+// that a view can show where memory is used. Counting is approximate: increments are plain writes that racing
+// translations on several threads may lose, which keeps the cost of an access to two array writes. Blocks are
+// grouped into regions, each with a dirty flag that tells a view which parts changed since it last looked.
+public class HeatMap {
+    private static final int REGION_SHIFT = 8; // Log2 of the number of blocks sharing a dirty flag
+
+    private final int blockSize; // Bytes of memory per block
+    private final int blockCount; // Number of blocks
+    private final int[] accesses; // Translations into each block
+    private final int[] faults; // Faults that brought memory into each block
+    private final byte[] dirty; // Whether the counters of each region changed since its flag was last cleared
+
+    public HeatMap(int blockSize, int blockCount) {
+        if (blockSize <= 0 || blockCount < 0) {
+            throw new IllegalArgumentException("Kích thước khối phải lớn hơn 0.");
+        }
+        this.blockSize = blockSize;
+        this.blockCount = blockCount;
+        this.accesses = new int[blockCount];
+        this.faults = new int[blockCount];
+        this.dirty = new byte[(blockCount >> REGION_SHIFT) + 1];
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    public int getAccessCount(int block) {
+        return accesses[block];
+    }
+
+    public int getFaultCount(int block) {
+        return faults[block];
+    }
+
+    // Number of blocks sharing a dirty flag
+    public int getRegionSize() {
+        return 1 << REGION_SHIFT;
+    }
+
+    public int getRegionCount() {
+        return dirty.length;
+    }
+
+    // Clear the dirty flag of a region and return whether it was set
+    public boolean clearDirty(int region) {
+        if (dirty[region] == 0) {
+            return false;
+        }
+        dirty[region] = 0;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(accesses, 0);
+        Arrays.fill(faults, 0);
+        Arrays.fill(dirty, (byte) 1);
+    }
+
+    // Count a translation to a physical address; addresses past the blocks are ignored
+    void recordAccess(long address) {
+        long block = address / blockSize;
+        if (block < blockCount && accesses[(int) block] != Integer.MAX_VALUE) {
+            accesses[(int) block]++;
+            dirty[(int) block >> REGION_SHIFT] = 1;
+        }
+    }
+
+    // Count a fault that brought the range of physical addresses [start, end) into memory
+    void recordFault(long start, long end) {
+        long last = Math.min((end - 1) / blockSize, blockCount - 1L);
+        for (long block = start / blockSize; block <= last; block++) {
+            if (faults[(int) block] != Integer.MAX_VALUE) {
+                faults[(int) block]++;
+                dirty[(int) block >> REGION_SHIFT] = 1;
+            }
+        }
+    }
+}
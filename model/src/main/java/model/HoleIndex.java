@@ -0,0 +1,313 @@
+package model;
+
+import java.util.TreeSet;
+
+// Index of the free holes of a contiguous memory. Holes are kept in an address-ordered treap whose nodes
+// also store the largest hole of their subtree, so first fit and next fit descend a single path,
+// and in a set ordered by (length, address) for best fit and worst fit. Every operation is O(log n) in the number of holes.
+public class HoleIndex {
+    private static final class Node {
+        final int start; // First address of the hole
+        final int length; // Length of the hole
+        final int priority; // Heap priority of the treap
+        int maxLength; // Largest hole length in this subtree
+        Node left; // Holes at lower addresses
+        Node right; // Holes at higher addresses
+
+        Node(int start, int length) {
+            this.start = start;
+            this.length = length;
+            this.priority = mix(start);
+            this.maxLength = length;
+        }
+    }
+
+    private final TreeSet<Long> bySize; // Holes keyed by length in the high half and start address in the low half
+    private Node root; // Root of the address-ordered treap
+    private int holeCount; // Number of holes
+    private long freeSize; // Sum of the hole lengths
+
+    public HoleIndex() {
+        this.bySize = new TreeSet<>();
+    }
+
+    public int getHoleCount() {
+        return holeCount;
+    }
+
+    public long getFreeSize() {
+        return freeSize;
+    }
+
+    // Length of the largest hole, or 0 if memory is full
+    public int getLargestHole() {
+        return root == null ? 0 : root.maxLength;
+    }
+
+    public void clear() {
+        bySize.clear();
+        root = null;
+        holeCount = 0;
+        freeSize = 0;
+    }
+
+    // Start of the hole containing the address, or -1 if the address is not free
+    public int holeAt(int address) {
+        Node hole = floor(address);
+        return hole != null && address - hole.start < hole.length ? hole.start : -1;
+    }
+
+    // Length of the hole starting at the address, or 0 if no hole starts there
+    public int holeLength(int start) {
+        Node hole = floor(start);
+        return hole != null && hole.start == start ? hole.length : 0;
+    }
+
+    // Start of the lowest-addressed hole starting at or after the address, or -1 if there is none
+    public int holeAfter(int address) {
+        Node hole = ceiling(address - 1);
+        return hole == null ? -1 : hole.start;
+    }
+
+    // Lowest-addressed hole of at least the given length, or -1 if none is large enough
+    public int firstFit(int length) {
+        return nextFit(0, length);
+    }
+
+    // Lowest-addressed hole of at least the given length starting at or after the address,
+    // wrapping around to the start of memory, or -1 if none is large enough
+    public int nextFit(int from, int length) {
+        Node hole = firstFit(root, from, length);
+        if (hole == null && from > 0) {
+            hole = firstFit(root, 0, length);
+        }
+        return hole == null ? -1 : hole.start;
+    }
+
+    // Smallest hole of at least the given length, the lowest-addressed one on ties, or -1 if none is large enough
+    public int bestFit(int length) {
+        Long key = bySize.ceiling((long) length << 32);
+        return key == null ? -1 : (int) key.longValue();
+    }
+
+    // Largest hole if it has at least the given length, the lowest-addressed one on ties, or -1 otherwise
+    public int worstFit(int length) {
+        if (bySize.isEmpty() || getLargestHole() < length) {
+            return -1;
+        }
+        // The lowest address among the largest holes
+        Long key = bySize.ceiling((long) getLargestHole() << 32);
+        return (int) key.longValue();
+    }
+
+    // Take a range out of the hole containing it, leaving the free space before and after it as holes
+    public void allocate(int start, int length) {
+        Node hole = floor(start);
+        if (hole == null || (long) start + length > (long) hole.start + hole.length) {
+            throw new IllegalArgumentException("Vùng nhớ [" + start + ", " + ((long) start + length) + ") không trống.");
+        }
+        removeHole(hole);
+        if (start > hole.start) {
+            addHole(hole.start, start - hole.start);
+        }
+        int end = start + length;
+        int holeEnd = hole.start + hole.length;
+        if (end < holeEnd) {
+            addHole(end, holeEnd - end);
+        }
+    }
+
+    // Return a range to free memory, merging it with the holes directly before and after it
+    public void free(int start, int length) {
+        if (length <= 0) {
+            return;
+        }
+        int end = start + length;
+        Node before = floor(start);
+        if (before != null && before.start + before.length > start) {
+            throw new IllegalArgumentException("Vùng nhớ [" + start + ", " + end + ") đã trống.");
+        }
+        Node after = ceiling(start);
+        if (after != null && after.start < end) {
+            throw new IllegalArgumentException("Vùng nhớ [" + start + ", " + end + ") đã trống.");
+        }
+        if (before != null && before.start + before.length == start) {
+            removeHole(before);
+            start = before.start;
+        }
+        if (after != null && after.start == end) {
+            removeHole(after);
+            end = after.start + after.length;
+        }
+        addHole(start, end - start);
+    }
+
+
+    private void addHole(int start, int length) {
+        root = insert(root, new Node(start, length));
+        bySize.add(sizeKey(start, length));
+        holeCount++;
+        freeSize += length;
+    }
+
+
+    private void removeHole(Node hole) {
+        root = delete(root, hole.start);
+        bySize.remove(sizeKey(hole.start, hole.length));
+        holeCount--;
+        freeSize -= hole.length;
+    }
+
+
+    private static long sizeKey(int start, int length) {
+        return (long) length << 32 | start;
+    }
+
+
+    // Hole with the highest start address not above the address
+    private Node floor(int address) {
+        Node node = root;
+        Node result = null;
+        while (node != null) {
+            if (node.start <= address) {
+                result = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+
+    // Hole with the lowest start address above the address
+    private Node ceiling(int address) {
+        Node node = root;
+        Node result = null;
+        while (node != null) {
+            if (node.start > address) {
+                result = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+
+    // Leftmost hole starting at or after the address that is long enough. Subtrees whose largest hole is too short
+    // are skipped, so the search follows the path to the address plus one successful descent.
+    private static Node firstFit(Node node, int from, int length) {
+        if (node == null || node.maxLength < length) {
+            return null;
+        }
+        if (node.start < from) {
+            return firstFit(node.right, from, length);
+        }
+        Node found = firstFit(node.left, from, length);
+        if (found != null) {
+            return found;
+        }
+        if (node.length >= length) {
+            return node;
+        }
+        return firstFit(node.right, from, length);
+    }
+
+
+    private static Node insert(Node node, Node hole) {
+        if (node == null) {
+            return hole;
+        }
+        if (hole.start < node.start) {
+            node.left = insert(node.left, hole);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, hole);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+
+    private static Node delete(Node node, int start) {
+        if (node == null) {
+            return null;
+        }
+        if (start < node.start) {
+            node.left = delete(node.left, start);
+        } else if (start > node.start) {
+            node.right = delete(node.right, start);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+
+    // Join two treaps where every start in the left one is below every start in the right one
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+
+    private static void update(Node node) {
+        int max = node.length;
+        if (node.left != null) {
+            max = Math.max(max, node.left.maxLength);
+        }
+        if (node.right != null) {
+            max = Math.max(max, node.right.maxLength);
+        }
+        node.maxLength = max;
+    }
+
+
+    // Treap priority derived from the start address (SplitMix finalizer), so the shape is deterministic
+    private static int mix(int start) {
+        long z = start * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+}
@@ -0,0 +1,41 @@
+package model;
+
+// Spread consecutive pages round-robin across equal-sized memory banks
+public class InterleavedPlacement implements PlacementPolicy {
+    private final int banks; // Number of memory banks
+    private int nextBank; // Bank that receives the next page
+
+    public InterleavedPlacement(int banks) {
+        if (banks <= 0) {
+            throw new IllegalArgumentException("Số bank bộ nhớ phải lớn hơn 0.");
+        }
+        this.banks = banks;
+        this.nextBank = 0;
+    }
+
+    @Override
+    public int selectFrame(FrameAllocator allocator, int pageIndex) {
+        int frameCount = allocator.getFrameCount();
+        int bankSize = (frameCount + banks - 1) / banks;
+        // Try the banks in round-robin order, starting from the next one
+        for (int i = 0; i < banks; i++) {
+            int bank = (nextBank + i) % banks;
+            int frame = allocator.nextFree(bank * bankSize);
+            if (frame != -1 && frame < (bank + 1) * bankSize) {
+                nextBank = (bank + 1) % banks;
+                return frame;
+            }
+        }
+        return allocator.nextFree(0);
+    }
+
+    @Override
+    public void reset() {
+        nextBank = 0;
+    }
+
+    @Override
+    public PlacementPolicy copy() {
+        return new InterleavedPlacement(banks);
+    }
+}
@@ -0,0 +1,105 @@
+package model;
+
+import java.util.Arrays;
+
+// Hashed inverted page table: one entry per physical frame, found through a hash anchor table keyed by (pid, page number)
+public class InvertedPageTable extends PageTable {
+    private static final int INVERTED_ENTRY_SIZE = 16; // Simulated entry size: pid, page number and chain link
+    private static final int ANCHOR_SIZE = 4; // Simulated size of a hash anchor in bytes
+
+    private final int[] anchors; // First frame of each hash chain, -1 if the chain is empty
+    private final int[] owners; // PID mapped to each frame
+    private final long[] pageNumbers; // Page number mapped to each frame, -1 if the frame is unmapped
+    private final int[] chain; // Next frame in the same hash chain, -1 at the end
+
+    public InvertedPageTable(int addressBits, int pageBits, int frameCount) {
+        super(addressBits, pageBits, frameCount);
+        // Keep the load factor at most 1 with a power-of-two anchor table
+        int anchorCount = Integer.highestOneBit(Math.max(frameCount, 1));
+        if (anchorCount < frameCount) {
+            anchorCount <<= 1;
+        }
+        this.anchors = new int[anchorCount];
+        this.owners = new int[frameCount];
+        this.pageNumbers = new long[frameCount];
+        this.chain = new int[frameCount];
+        Arrays.fill(anchors, -1);
+        Arrays.fill(pageNumbers, -1);
+        Arrays.fill(chain, -1);
+    }
+
+    // The table size depends on physical memory only, not on how many pages are mapped
+    @Override
+    public long getTableBytes() {
+        return (long) owners.length * INVERTED_ENTRY_SIZE + (long) anchors.length * ANCHOR_SIZE;
+    }
+
+    @Override
+    public void removeAddressSpace(int id) {
+        // An inverted table has no per-process structure, so every frame must be checked
+        for (int frame = 0; frame < owners.length; frame++) {
+            if (pageNumbers[frame] != -1 && owners[frame] == id) {
+                unlink(frame);
+                releaseFrame(frame);
+            }
+        }
+    }
+
+
+    @Override
+    protected int lookupFrame(int id, long pageNumber) {
+        int depth = 1; // Reading the anchor
+        for (int frame = anchors[hash(id, pageNumber)]; frame != -1; frame = chain[frame]) {
+            depth++;
+            if (pageNumbers[frame] == pageNumber && owners[frame] == id) {
+                recordWalk(depth);
+                return frame;
+            }
+        }
+        recordWalk(depth);
+        return -1;
+    }
+
+    @Override
+    protected void mapFrame(int id, long pageNumber, int frame) {
+        int bucket = hash(id, pageNumber);
+        owners[frame] = id;
+        pageNumbers[frame] = pageNumber;
+        chain[frame] = anchors[bucket];
+        anchors[bucket] = frame;
+    }
+
+    @Override
+    protected int unmapFrame(int id, long pageNumber) {
+        for (int frame = anchors[hash(id, pageNumber)]; frame != -1; frame = chain[frame]) {
+            if (pageNumbers[frame] == pageNumber && owners[frame] == id) {
+                unlink(frame);
+                return frame;
+            }
+        }
+        return -1;
+    }
+
+
+    // Remove a frame from its hash chain and mark it unmapped
+    private void unlink(int frame) {
+        int bucket = hash(owners[frame], pageNumbers[frame]);
+        if (anchors[bucket] == frame) {
+            anchors[bucket] = chain[frame];
+        } else {
+            int previous = anchors[bucket];
+            while (chain[previous] != frame) {
+                previous = chain[previous];
+            }
+            chain[previous] = chain[frame];
+        }
+        chain[frame] = -1;
+        pageNumbers[frame] = -1;
+    }
+
+
+    private int hash(int id, long pageNumber) {
+        long h = pageNumber * 0x9E3779B97F4A7C15L + id * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 32)) & (anchors.length - 1);
+    }
+}
@@ -0,0 +1,37 @@
+package model;
+
+// Evict the page that has not been accessed for the longest time
+public class LRUReplacement implements ReplacementPolicy {
+    private final FrameList recency = new FrameList(); // Resident frames from least to most recently used
+
+    @Override
+    public void reset(int frameCount) {
+        recency.reset(frameCount);
+    }
+
+    @Override
+    public void pageLoaded(int frame) {
+        recency.addLast(frame);
+    }
+
+    @Override
+    public void pageAccessed(int frame) {
+        if (recency.contains(frame)) {
+            recency.moveToLast(frame);
+        }
+    }
+
+    @Override
+    public void pageRemoved(int frame) {
+        recency.remove(frame);
+    }
+
+    @Override
+    public int selectVictim() {
+        int victim = recency.first();
+        if (victim != -1) {
+            recency.remove(victim);
+        }
+        return victim;
+    }
+}
@@ -0,0 +1,9 @@
+package model;
+
+// Place each page in the free frame with the lowest number
+public class LowestFirstPlacement implements PlacementPolicy {
+    @Override
+    public int selectFrame(FrameAllocator allocator, int pageIndex) {
+        return allocator.nextFree(0);
+    }
+}
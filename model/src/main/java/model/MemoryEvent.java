@@ -0,0 +1,160 @@
+package model;
+
+import java.util.Arrays;
+
+// Change of the state of a memory manager: the ranges of physical addresses whose contents changed and the IDs of the
+// programs or segments whose table entries changed. Ranges are sorted and coalesced, and IDs are sorted without
+// duplicates, so the cost of handling an event grows with the size of the change rather than the size of memory.
+// A reset event (after initializeMemory) invalidates all of memory and every table entry.
+public class MemoryEvent {
+    private final Object source; // Memory manager that changed
+    private final boolean reset; // Whether the whole memory was initialized again
+    private final int[] ranges; // Start and end (exclusive) address of each changed range, in address order
+    private final int[] entries; // IDs of the programs or segments whose table entries changed, in increasing order
+
+    private MemoryEvent(Object source, boolean reset, int[] ranges, int[] entries) {
+        this.source = source;
+        this.reset = reset;
+        this.ranges = ranges;
+        this.entries = entries;
+    }
+
+    public Object getSource() {
+        return source;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    // Number of disjoint, non-adjacent ranges of changed addresses
+    public int getRangeCount() {
+        return ranges.length / 2;
+    }
+
+    public int getRangeStart(int index) {
+        return ranges[2 * index];
+    }
+
+    // Address after the end of a changed range
+    public int getRangeEnd(int index) {
+        return ranges[2 * index + 1];
+    }
+
+    // Number of changed table entries
+    public int getEntryCount() {
+        return entries.length;
+    }
+
+    // ID of a changed table entry (the OS is -1)
+    public int getEntry(int index) {
+        return entries[index];
+    }
+
+    // Whether the table entry of a program or segment changed
+    public boolean isEntryChanged(int id) {
+        return reset || Arrays.binarySearch(entries, id) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryEvent[reset=" + reset + ", ranges=" + getRangeCount() + ", entries=" + Arrays.toString(entries) + "]";
+    }
+
+
+    // Changes collected during an operation and turned into an event when it ends. Not thread-safe: each manager
+    // records under its own lock or into a builder local to the operation.
+    static class Builder {
+        private final Object source; // Memory manager recording the changes
+        private boolean reset; // Whether the memory was initialized again
+        private long[] ranges; // Recorded ranges, each packed as start << 32 | end
+        private int rangeCount; // Number of recorded ranges
+        private int[] entries; // Recorded IDs
+        private int entryCount; // Number of recorded IDs
+
+        Builder(Object source) {
+            this.source = source;
+            this.ranges = new long[8];
+            this.entries = new int[8];
+        }
+
+        boolean isEmpty() {
+            return !reset && rangeCount == 0 && entryCount == 0;
+        }
+
+        void reset() {
+            reset = true;
+        }
+
+        // Record a changed range of addresses; empty ranges are ignored
+        void addRange(int start, int end) {
+            if (start >= end) {
+                return;
+            }
+            // Consecutive frames or segments usually extend the last range
+            if (rangeCount > 0 && (int) ranges[rangeCount - 1] == start) {
+                ranges[rangeCount - 1] = ranges[rangeCount - 1] & 0xFFFFFFFF00000000L | end;
+                return;
+            }
+            if (rangeCount == ranges.length) {
+                ranges = Arrays.copyOf(ranges, rangeCount * 2);
+            }
+            ranges[rangeCount++] = (long) start << 32 | end;
+        }
+
+        void addEntry(int id) {
+            if (entryCount > 0 && entries[entryCount - 1] == id) {
+                return;
+            }
+            if (entryCount == entries.length) {
+                entries = Arrays.copyOf(entries, entryCount * 2);
+            }
+            entries[entryCount++] = id;
+        }
+
+        // Turn the recorded changes into an event and start recording anew
+        MemoryEvent build() {
+            int[] merged;
+            int[] ids;
+            if (reset) {
+                merged = new int[0];
+                ids = new int[0];
+            } else {
+                merged = mergeRanges();
+                ids = Arrays.copyOf(entries, entryCount);
+                Arrays.sort(ids);
+                int count = 0;
+                for (int i = 0; i < ids.length; i++) {
+                    if (count == 0 || ids[count - 1] != ids[i]) {
+                        ids[count++] = ids[i];
+                    }
+                }
+                ids = Arrays.copyOf(ids, count);
+            }
+            MemoryEvent event = new MemoryEvent(source, reset, merged, ids);
+            reset = false;
+            rangeCount = 0;
+            entryCount = 0;
+            return event;
+        }
+
+        // Sort the recorded ranges and merge the overlapping or adjacent ones
+        private int[] mergeRanges() {
+            // Starts are non-negative, so the packed ranges sort by start
+            Arrays.sort(ranges, 0, rangeCount);
+            int[] merged = new int[2 * rangeCount];
+            int count = 0;
+            for (int i = 0; i < rangeCount; i++) {
+                int start = (int) (ranges[i] >>> 32);
+                int end = (int) ranges[i];
+                if (count > 0 && start <= merged[count - 1]) {
+                    merged[count - 1] = Math.max(merged[count - 1], end);
+                } else {
+                    merged[count++] = start;
+                    merged[count++] = end;
+                }
+            }
+            return Arrays.copyOf(merged, count);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package model;
+
+// Receives the changes of a memory manager. Events are delivered on the thread that made the change, after the
+// manager's locks are released, so a listener may read the manager but must hand the event over to its own thread
+// (for example the Swing event dispatch thread) before touching state owned by that thread.
+public interface MemoryListener {
+    void memoryChanged(MemoryEvent event);
+}
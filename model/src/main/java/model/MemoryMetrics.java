@@ -0,0 +1,60 @@
+package model;
+
+// Snapshot of the fragmentation metrics of a memory manager, maintained on every allocation and free so that
+// taking a snapshot never scans memory
+public class MemoryMetrics {
+    private final long memorySize; // Size of memory in bytes
+    private final long freeBytes; // Bytes not allocated to anything
+    private final int holeCount; // Number of maximal runs of free memory
+    private final long largestHole; // Size of the largest run of free memory in bytes
+    private final long internalFragmentation; // Allocated bytes that hold nothing, such as the tail of a last page
+
+    public MemoryMetrics(long memorySize, long freeBytes, int holeCount, long largestHole, long internalFragmentation) {
+        this.memorySize = memorySize;
+        this.freeBytes = freeBytes;
+        this.holeCount = holeCount;
+        this.largestHole = largestHole;
+        this.internalFragmentation = internalFragmentation;
+    }
+
+    public long getMemorySize() {
+        return memorySize;
+    }
+
+    public long getFreeBytes() {
+        return freeBytes;
+    }
+
+    public long getUsedBytes() {
+        return memorySize - freeBytes;
+    }
+
+    public int getHoleCount() {
+        return holeCount;
+    }
+
+    public long getLargestHole() {
+        return largestHole;
+    }
+
+    public long getInternalFragmentation() {
+        return internalFragmentation;
+    }
+
+    // External fragmentation index: the share of free memory outside the largest hole
+    public double getExternalFragmentation() {
+        return freeBytes == 0 ? 0 : 1 - (double) largestHole / freeBytes;
+    }
+
+    // Share of memory holding useful data, i.e. allocated and not lost to internal fragmentation
+    public double getUtilization() {
+        return memorySize == 0 ? 0 : (double) (getUsedBytes() - internalFragmentation) / memorySize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("used=%d/%d holes=%d largestHole=%d external=%.4f internal=%d utilization=%.4f",
+                getUsedBytes(), memorySize, holeCount, largestHole, getExternalFragmentation(),
+                internalFragmentation, getUtilization());
+    }
+}
@@ -0,0 +1,124 @@
+package model;
+
+// Page table organization for large sparse address spaces; pages are mapped to frames of a shared pool on first access
+public abstract class PageTable implements AddressTranslator {
+    protected static final int ENTRY_SIZE = 8; // Simulated size of a page table entry in bytes
+
+    private final int addressBits; // Width of a virtual address in bits
+    private final int pageBits; // log2 of the page size
+    private final FrameAllocator frames; // Physical frames shared by all address spaces
+    private PlacementPolicy placementPolicy; // Policy choosing the frame for each mapped page
+    private long faults; // Number of translations that had to map a new page
+    private long walks; // Number of page table walks
+    private long walkSteps; // Total number of table entries read by the walks
+    private int lastWalkDepth; // Number of table entries read by the last walk
+
+    protected PageTable(int addressBits, int pageBits, int frameCount) {
+        if (addressBits <= pageBits || addressBits > 63 || pageBits <= 0) {
+            throw new IllegalArgumentException("Kích thước địa chỉ hoặc trang không hợp lệ.");
+        }
+        this.addressBits = addressBits;
+        this.pageBits = pageBits;
+        this.frames = new FrameAllocator(frameCount);
+        this.placementPolicy = new LowestFirstPlacement();
+    }
+
+    public int getAddressBits() {
+        return addressBits;
+    }
+
+    public int getPageBits() {
+        return pageBits;
+    }
+
+    // Number of bits of a virtual page number
+    public int getPageNumberBits() {
+        return addressBits - pageBits;
+    }
+
+    public int getFrameCount() {
+        return frames.getFrameCount();
+    }
+
+    public int getFreeFrameCount() {
+        return frames.getFreeCount();
+    }
+
+    public int getMappedPageCount() {
+        return frames.getFrameCount() - frames.getFreeCount();
+    }
+
+    public void setPlacementPolicy(PlacementPolicy placementPolicy) {
+        this.placementPolicy = placementPolicy;
+        placementPolicy.reset();
+    }
+
+    @Override
+    public long getFaultCount() {
+        return faults;
+    }
+
+    public int getLastWalkDepth() {
+        return lastWalkDepth;
+    }
+
+    // Average number of table entries read per translation
+    public double getAverageWalkDepth() {
+        return walks == 0 ? 0 : (double) walkSteps / walks;
+    }
+
+    // Memory used by the page table structures in bytes
+    public abstract long getTableBytes();
+
+    @Override
+    public long translate(int id, long logicalAddress, boolean write) {
+        if (logicalAddress < 0 || (logicalAddress >>> addressBits) != 0) {
+            throw new IllegalArgumentException("Địa chỉ vượt quá không gian địa chỉ.");
+        }
+        long pageNumber = logicalAddress >>> pageBits;
+        int frame = lookupFrame(id, pageNumber);
+        if (frame < 0) {
+            // First access to the page: map it to a free frame
+            if (frames.getFreeCount() == 0) {
+                throw new IllegalArgumentException("Không đủ trang vật lý tự do để nạp trang này.");
+            }
+            frame = placementPolicy.selectFrame(frames, (int) pageNumber);
+            frames.allocate(frame);
+            mapFrame(id, pageNumber, frame);
+            faults++;
+        }
+        return (long) frame << pageBits | (logicalAddress & ((1L << pageBits) - 1));
+    }
+
+    // Unmap a page and return its frame to the pool
+    public void unmap(int id, long pageNumber) {
+        int frame = unmapFrame(id, pageNumber);
+        if (frame >= 0) {
+            frames.free(frame);
+        }
+    }
+
+    // Unmap every page of an address space and release its table structures
+    public abstract void removeAddressSpace(int id);
+
+
+    // Find the frame of a page, or -1 if it is not mapped; implementations report the walk with recordWalk
+    protected abstract int lookupFrame(int id, long pageNumber);
+
+    // Record a mapping from a page to a frame
+    protected abstract void mapFrame(int id, long pageNumber, int frame);
+
+    // Remove the mapping of a page and return its frame, or -1 if it was not mapped
+    protected abstract int unmapFrame(int id, long pageNumber);
+
+    protected void recordWalk(int depth) {
+        walks++;
+        walkSteps += depth;
+        lastWalkDepth = depth;
+    }
+
+    // Return the frame of a page removed by removeAddressSpace to the pool
+    protected void releaseFrame(int frame) {
+        frames.free(frame);
+    }
+}
@@ -0,0 +1,53 @@
+package model;
+
+// Segment of a process in paged segmentation. It has no base address: its pages are mapped to frames
+// of the shared pool by the page table of the paging program backing it.
+public class PagedSegment {
+    private final int PID; // ID of the process owning the segment
+    private final int segmentNumber; // Number of the segment in the process's segment table
+    private final String name; // Name of the segment
+    private final int length; // Length of the segment, its limit
+    private final Program program; // Paging program whose page table maps the segment's pages
+    private volatile int protection; // SegmentTable protection bits of the segment
+
+    public PagedSegment(int PID, int segmentNumber, String name, int length, Program program, int protection) {
+        this.PID = PID;
+        this.segmentNumber = segmentNumber;
+        this.name = name;
+        this.length = length;
+        this.program = program;
+        this.protection = protection;
+    }
+
+    public int getPID() {
+        return PID;
+    }
+
+    public int getSegmentNumber() {
+        return segmentNumber;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public Program getProgram() {
+        return program;
+    }
+
+    public int getPageCount() {
+        return program.getPageCount();
+    }
+
+    public int getProtection() {
+        return protection;
+    }
+
+    void setProtection(int protection) {
+        this.protection = protection;
+    }
+}
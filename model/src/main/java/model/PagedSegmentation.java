@@ -0,0 +1,378 @@
+package model;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Segmentation with paging: every segment of a process is backed by its own page table over the frame pool of a
+// Paging manager, so a segment needs no contiguous memory and placement causes no external fragmentation.
+// Addresses are translated (segment, offset) -> (page, offset) -> frame, and each level keeps its own statistics.
+// Translations take no lock of their own; segment tables are changed under the table lock.
+public class PagedSegmentation implements AddressTranslator {
+    private static final int SEGMENT_SHIFT = 32; // Position of the segment number in the logical addresses given to translate
+
+    private static final class Process {
+        final int PID; // ID of the process
+        final String name; // Name of the process
+        final Color color; // Color of the process's pages for visualization
+        volatile PagedSegment[] segments; // Segment of each segment number, or null for an unused number
+        int segmentCount; // Number of segment numbers handed out
+
+        Process(int PID, String name, Color color) {
+            this.PID = PID;
+            this.name = name;
+            this.color = color;
+            this.segments = new PagedSegment[4];
+        }
+
+        PagedSegment get(int segmentNumber) {
+            PagedSegment[] table = segments;
+            return segmentNumber >= 0 && segmentNumber < table.length ? table[segmentNumber] : null;
+        }
+    }
+
+    private final Paging paging; // Frame pool and page tables backing the segments
+    private final Map<Integer, Process> processes; // Segment tables of the processes indexed by PID
+    private final Map<String, Process> processesByName; // Segment tables of the processes indexed by lower-case name
+    private final ReentrantLock tableLock; // Guards changes to the segment tables
+    private int nextPID; // Next process ID to be assigned
+    private final LongAdder segmentLookups; // Translations that looked up a segment table
+    private final LongAdder segmentFaults; // Translations naming a process or segment not in memory
+    private final LongAdder limitViolations; // Translations with an offset past the segment limit
+    private final LongAdder protectionViolations; // Translations not allowed by the segment's protection bits
+    private final LongAdder pageLookups; // Translations passed on to the page table of a segment
+
+    public PagedSegmentation() {
+        this(new Paging());
+    }
+
+    // Back the segments with the frames of the given paging manager, which may also hold ordinary programs
+    public PagedSegmentation(Paging paging) {
+        this.paging = paging;
+        this.processes = new ConcurrentHashMap<>();
+        this.processesByName = new ConcurrentHashMap<>();
+        this.tableLock = new ReentrantLock();
+        this.segmentLookups = new LongAdder();
+        this.segmentFaults = new LongAdder();
+        this.limitViolations = new LongAdder();
+        this.protectionViolations = new LongAdder();
+        this.pageLookups = new LongAdder();
+    }
+
+    // Paging manager holding the frames, used to configure the page level (TLB, demand paging, placement)
+    public Paging getPaging() {
+        return paging;
+    }
+
+    // Initialize the frame pool and the OS, removing every process
+    public void initializeMemory(int memorySize, int frameSize, int osSize) {
+        tableLock.lock();
+        try {
+            paging.initializeMemory(memorySize, frameSize, osSize);
+            processes.clear();
+            processesByName.clear();
+            nextPID = 0;
+            resetStatistics();
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    // Create a process with an empty segment table and return its ID
+    public int createProcess(String name, Color color) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Cần thêm tên tiến trình.");
+        }
+        tableLock.lock();
+        try {
+            if (processesByName.containsKey(nameKey(name))) {
+                throw new IllegalArgumentException("Tiến trình đã tồn tại trong bộ nhớ.");
+            }
+            Process process = new Process(nextPID++, name, color);
+            processesByName.put(nameKey(name), process);
+            processes.put(process.PID, process);
+            return process.PID;
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    // Create a process with code (read/execute), data, heap and stack (read/write) segments numbered 0 to 3
+    public int loadProcess(String name, int codeSize, int dataSize, int heapSize, int stackSize, Color color) {
+        tableLock.lock();
+        try {
+            int pid = createProcess(name, color);
+            try {
+                addSegment(pid, "code", codeSize, SegmentTable.READ | SegmentTable.EXECUTE);
+                addSegment(pid, "data", dataSize, SegmentTable.READ | SegmentTable.WRITE);
+                addSegment(pid, "heap", heapSize, SegmentTable.READ | SegmentTable.WRITE);
+                addSegment(pid, "stack", stackSize, SegmentTable.READ | SegmentTable.WRITE);
+            } catch (IllegalArgumentException e) {
+                // Do not leave a partly loaded process behind
+                removeProcess(pid);
+                throw e;
+            }
+            return pid;
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    // Load a segment for a process into frames of the pool and return its segment number.
+    // Its pages belong to a paging program named "PID/segment number", which no other segment can have.
+    public int addSegment(int pid, String name, int size, int protection) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Cần thêm tên đoạn.");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Kích thước đoạn phải lớn hơn 0.");
+        }
+        tableLock.lock();
+        try {
+            Process process = processes.get(pid);
+            if (process == null) {
+                throw new IllegalArgumentException("Tiến trình không có trong bộ nhớ.");
+            }
+            int segmentNumber = process.segmentCount;
+            Program program = paging.addProgram(programName(pid, segmentNumber), size, process.color);
+            if (segmentNumber == process.segments.length) {
+                process.segments = Arrays.copyOf(process.segments, segmentNumber * 2);
+            }
+            process.segments[segmentNumber] = new PagedSegment(pid, segmentNumber, name, size, program, protection);
+            process.segmentCount++;
+            return segmentNumber;
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    // Map a segment of another process into a process with its own protection bits and return its segment number.
+    // Both segments map the same frames, which are freed when the last of them is removed.
+    public int shareSegment(int pid, int sourcePid, int sourceSegmentNumber, int protection) {
+        tableLock.lock();
+        try {
+            Process process = processes.get(pid);
+            if (process == null) {
+                throw new IllegalArgumentException("Tiến trình không có trong bộ nhớ.");
+            }
+            PagedSegment source = findSegment(sourcePid, sourceSegmentNumber);
+            if (source == null) {
+                throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+            }
+            int segmentNumber = process.segmentCount;
+            Program program = paging.shareProgram(source.getProgram().getName(), programName(pid, segmentNumber),
+                    SegmentTable.READ | SegmentTable.WRITE | SegmentTable.EXECUTE, process.color);
+            if (segmentNumber == process.segments.length) {
+                process.segments = Arrays.copyOf(process.segments, segmentNumber * 2);
+            }
+            process.segments[segmentNumber] = new PagedSegment(pid, segmentNumber, source.getName(), source.getLength(),
+                    program, protection);
+            process.segmentCount++;
+            return segmentNumber;
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    // Remove a segment of a process and free its frames unless another process shares them
+    public void removeSegment(int pid, int segmentNumber) {
+        tableLock.lock();
+        try {
+            Process process = processes.get(pid);
+            PagedSegment segment = process == null ? null : process.get(segmentNumber);
+            if (segment == null) {
+                throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+            }
+            process.segments[segmentNumber] = null;
+            paging.deleteProgram(segment.getProgram().getName());
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    // Remove a process and free the frames of all its segments
+    public void removeProcess(int pid) {
+        tableLock.lock();
+        try {
+            Process process = processes.remove(pid);
+            if (process == null) {
+                throw new IllegalArgumentException("Tiến trình không có trong bộ nhớ.");
+            }
+            processesByName.remove(nameKey(process.name));
+            PagedSegment[] table = process.segments;
+            for (int segmentNumber = 0; segmentNumber < table.length; segmentNumber++) {
+                PagedSegment segment = table[segmentNumber];
+                if (segment != null) {
+                    table[segmentNumber] = null;
+                    paging.deleteProgram(segment.getProgram().getName());
+                }
+            }
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    public void setSegmentProtection(int pid, int segmentNumber, int protection) {
+        PagedSegment segment = findSegment(pid, segmentNumber);
+        if (segment == null) {
+            throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+        }
+        segment.setProtection(protection);
+    }
+
+    // Get the segment with the given number of a process, or null if there is none
+    public PagedSegment findSegment(int pid, int segmentNumber) {
+        Process process = processes.get(pid);
+        return process == null ? null : process.get(segmentNumber);
+    }
+
+    // Get the name of a process, or null if it is not in memory
+    public String getProcessName(int pid) {
+        Process process = processes.get(pid);
+        return process == null ? null : process.name;
+    }
+
+    // Get the IDs of the processes in ascending order
+    public List<Integer> getProcessIDs() {
+        List<Integer> snapshot = new ArrayList<>(processes.keySet());
+        snapshot.sort(null);
+        return snapshot;
+    }
+
+    // Get the segments of a process in segment-number order
+    public List<PagedSegment> getSegments(int pid) {
+        Process process = processes.get(pid);
+        List<PagedSegment> snapshot = new ArrayList<>();
+        if (process != null) {
+            for (PagedSegment segment : process.segments) {
+                if (segment != null) {
+                    snapshot.add(segment);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    // Memory as a read-only list of labels, one per byte, from the frame table
+    public List<String> getMemory() {
+        return paging.getMemory();
+    }
+
+    // Bytes wasted in the last page of every segment, counting segments that share frames once since they waste the
+    // same bytes; paged segmentation has no external fragmentation
+    public long getInternalFragmentation() {
+        long wasted = 0;
+        Set<Program> counted = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Process process : processes.values()) {
+            for (PagedSegment segment : process.segments) {
+                if (segment == null || !counted.add(segment.getProgram())) {
+                    continue;
+                }
+                wasted += (long) segment.getPageCount() * paging.getFrameSize() - segment.getLength();
+                List<Program> group = segment.getProgram().getShareGroup();
+                if (group != null) {
+                    counted.addAll(group);
+                }
+            }
+        }
+        return wasted;
+    }
+
+    // Snapshot of the fragmentation metrics of the frame pool. Its internal fragmentation is the last-page slack of
+    // every group of segments sharing frames counted once, as in getInternalFragmentation, plus that of the OS; with
+    // demand paging only last pages in memory count
+    public MemoryMetrics getMetrics() {
+        return paging.getMetrics();
+    }
+
+    public long getSegmentLookupCount() {
+        return segmentLookups.sum();
+    }
+
+    public long getSegmentFaultCount() {
+        return segmentFaults.sum();
+    }
+
+    public long getLimitViolationCount() {
+        return limitViolations.sum();
+    }
+
+    public long getProtectionViolationCount() {
+        return protectionViolations.sum();
+    }
+
+    public long getPageLookupCount() {
+        return pageLookups.sum();
+    }
+
+    // Page faults at the page level, counted by the paging manager in demand-paging mode
+    public long getPageFaultCount() {
+        return paging.getPageFaultCount();
+    }
+
+    public void resetStatistics() {
+        segmentLookups.reset();
+        segmentFaults.reset();
+        limitViolations.reset();
+        protectionViolations.reset();
+        pageLookups.reset();
+    }
+
+    // Translate (process, segment number, offset) to a physical address, checking the limit and protection bits of
+    // the segment before its page table maps the page to a frame
+    public int translateAddress(int pid, int segmentNumber, int offset, int access) {
+        // Segment level
+        segmentLookups.increment();
+        PagedSegment segment = findSegment(pid, segmentNumber);
+        if (segment == null) {
+            segmentFaults.increment();
+            throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+        }
+        if (offset < 0 || offset >= segment.getLength()) {
+            limitViolations.increment();
+            throw new IllegalArgumentException("Offset vượt quá kích thước đoạn.");
+        }
+        if ((segment.getProtection() & access) != access) {
+            protectionViolations.increment();
+            throw new IllegalArgumentException("Vi phạm quyền truy cập đoạn.");
+        }
+
+        // Page level
+        pageLookups.increment();
+        return paging.translateAddress(segment.getProgram().getPID(), offset, (access & SegmentTable.WRITE) != 0);
+    }
+
+    // The logical address holds the segment number in its upper 32 bits and the offset in its lower 32 bits
+    @Override
+    public long translate(int id, long logicalAddress, boolean write) {
+        int segmentNumber = (int) (logicalAddress >>> SEGMENT_SHIFT);
+        int offset = (int) logicalAddress;
+        return translateAddress(id, segmentNumber, offset, write ? SegmentTable.WRITE : SegmentTable.READ);
+    }
+
+    @Override
+    public long getFaultCount() {
+        return getPageFaultCount();
+    }
+
+
+    // Name of the paging program holding a segment; PIDs and segment numbers are never reused, so names never collide
+    private static String programName(int pid, int segmentNumber) {
+        return pid + "/" + segmentNumber;
+    }
+
+
+    // Key of a process name in the case-insensitive name index
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,999 @@
+package model;
+
+import java.awt.Color;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Paging memory manager. Loading, deleting and translating may run on several threads at once:
+// translations without a TLB or demand paging take no lock, and frames are allocated from lock stripes.
+// initializeMemory and the setters must not run concurrently with other operations.
+// Every change is published to the MemoryListeners once the operation ends; operations on different threads may
+// deliver their events in any order, so a listener should read the current state for the ranges it is given.
+public class Paging implements AddressTranslator {
+    public static final int FREE_FRAME = -2; // Owner of a free frame (the OS uses PID -1)
+    public static final int OS_PID = -1; // PID of the OS program
+    public static final int KERNEL_PAGE = -1; // Page index of an OS frame holding kernel objects instead of an OS page
+    private static final int INIT_CHUNK_FRAMES = 1 << 20; // Frames set up between progress reports of initializeMemory
+    private static final Program RESERVED = new Program(FREE_FRAME, "", 0, null, 0); // Placeholder for a name being loaded
+
+    private final Map<Integer, Program> programs; // Programs in memory indexed by PID
+    private final Map<String, Program> programsByName; // Programs in memory indexed by lower-case name
+    private final int stripeCount; // Number of lock stripes the frames are divided into
+    private FrameStripe[] stripes; // Free frames in memory, divided into independently locked stripes
+    private final AtomicInteger freeFrameCount; // Free frames not yet reserved by a load or page fault
+    private final ReentrantLock faultLock; // Guards the TLB, the replacement policy and demand-paged page tables
+    private final ReentrantLock shareLock; // Guards the share groups and the reference counts of shared frames
+    private PlacementPolicy placementPolicy; // Policy choosing the frame for each loaded page, copied into each stripe
+    private TLB tlb; // Optional TLB in front of the page tables, null when disabled
+    private boolean demandPaging; // Whether pages are loaded on first access instead of at program load
+    private ReplacementPolicy replacementPolicy; // Policy choosing the page to evict in demand-paging mode
+    private long pageFaults; // Number of page faults since memory was initialized
+    private long evictions; // Number of pages evicted since memory was initialized
+    private long writeBacks; // Number of evicted pages that were dirty and had to be written back
+    private int[] frameOwners; // PID of the program owning each frame
+    private int[] framePages; // Page index mapped to each frame
+    private int[] frameRefs; // Number of page tables mapping each frame
+    private int memorySize; // Size of memory in bytes
+    private int frameSize; // Size of each frame in bytes
+    private final AtomicInteger nextPID; // Next program ID to be assigned
+    private final AtomicInteger kernelFrameCount; // Frames allocated to kernel objects such as slabs
+    private final AtomicLong wastedBytes; // Bytes past the end of each program in its resident last page
+    private final List<MemoryListener> listeners; // Listeners notified of every change
+    private MemoryEvent.Builder faultChanges; // Frames changed by the page fault being handled, guarded by the fault lock
+    private HeatMap heatMap; // Counters of accesses and faults per block of memory, null when not counted
+
+    public Paging() {
+        this(1);
+    }
+
+    // Create a paging manager whose frames are divided into the given number of lock stripes
+    public Paging(int stripeCount) {
+        this(stripeCount, new Random());
+    }
+
+    // Create a paging manager whose random placement is seeded, so that runs are reproducible
+    public Paging(int stripeCount, long seed) {
+        this(stripeCount, new Random(seed));
+    }
+
+    private Paging(int stripeCount, Random random) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Số phân vùng khóa phải lớn hơn 0.");
+        }
+        this.programs = new ConcurrentHashMap<>();
+        this.programsByName = new ConcurrentHashMap<>();
+        this.stripeCount = stripeCount;
+        this.stripes = new FrameStripe[0];
+        this.freeFrameCount = new AtomicInteger();
+        this.faultLock = new ReentrantLock();
+        this.shareLock = new ReentrantLock();
+        this.placementPolicy = new RandomPlacement(random);
+        this.replacementPolicy = new FIFOReplacement();
+        this.frameOwners = new int[0];
+        this.framePages = new int[0];
+        this.frameRefs = new int[0];
+        this.nextPID = new AtomicInteger();
+        this.kernelFrameCount = new AtomicInteger();
+        this.wastedBytes = new AtomicLong();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    public void addMemoryListener(MemoryListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeMemoryListener(MemoryListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Get the programs in memory ordered by PID, which is their loading order
+    public List<Program> getPrograms() {
+        List<Program> snapshot = new ArrayList<>(programs.values());
+        snapshot.sort(Comparator.comparingInt(Program::getPID));
+        return snapshot;
+    }
+
+    // Memory as a read-only list of labels, one per byte, produced on demand from the frame table
+    public List<String> getMemory() {
+        return new AbstractList<>() {
+            @Override
+            public String get(int address) {
+                return getMemoryLabel(address);
+            }
+
+            @Override
+            public int size() {
+                return memorySize;
+            }
+        };
+    }
+
+    public int getMemorySize() {
+        return memorySize;
+    }
+
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    public int getFrameCount() {
+        return frameOwners.length;
+    }
+
+    public int getFreeFrameCount() {
+        return freeFrameCount.get();
+    }
+
+    public int getStripeCount() {
+        return stripeCount;
+    }
+
+    public PlacementPolicy getPlacementPolicy() {
+        return placementPolicy;
+    }
+
+    // Set the placement policy; each stripe places frames with its own copy, numbering frames within the stripe
+    public void setPlacementPolicy(PlacementPolicy placementPolicy) {
+        this.placementPolicy = placementPolicy;
+        placementPolicy.reset();
+        for (FrameStripe stripe : stripes) {
+            stripe.setPlacementPolicy(placementPolicy.copy());
+        }
+    }
+
+    public boolean isDemandPaging() {
+        return demandPaging;
+    }
+
+    // Enable or disable demand paging for programs loaded from now on
+    public void setDemandPaging(boolean demandPaging) {
+        this.demandPaging = demandPaging;
+    }
+
+    public ReplacementPolicy getReplacementPolicy() {
+        return replacementPolicy;
+    }
+
+    public void setReplacementPolicy(ReplacementPolicy replacementPolicy) {
+        this.replacementPolicy = replacementPolicy;
+        replacementPolicy.reset(frameOwners.length);
+        // Hand over the resident pages of demand-paged programs
+        for (int frame = 0; frame < frameOwners.length; frame++) {
+            Program owner = programs.get(frameOwners[frame]);
+            if (owner != null && owner.isDemandPaged()) {
+                replacementPolicy.pageLoaded(frame);
+            }
+        }
+    }
+
+    public long getPageFaultCount() {
+        return pageFaults;
+    }
+
+    public long getEvictionCount() {
+        return evictions;
+    }
+
+    public long getWriteBackCount() {
+        return writeBacks;
+    }
+
+    @Override
+    public long getFaultCount() {
+        return pageFaults;
+    }
+
+    public TLB getTLB() {
+        return tlb;
+    }
+
+    // Put a TLB in front of address translation, or remove it with null; translations are serialized while a TLB is set
+    public void setTLB(TLB tlb) {
+        this.tlb = tlb;
+        if (tlb != null) {
+            tlb.flush();
+        }
+    }
+
+    public HeatMap getHeatMap() {
+        return heatMap;
+    }
+
+    // Count the accesses and page faults of translations per block of physical memory into the given heat map,
+    // or stop counting with null
+    public void setHeatMap(HeatMap heatMap) {
+        this.heatMap = heatMap;
+    }
+
+    // Get the PID of the program owning a frame, or -2 if the frame is free
+    public int getFrameOwner(int frame) {
+        return frameOwners[frame];
+    }
+
+    // Get the page index mapped to a frame, or -1 if the frame is free or holds kernel objects
+    public int getFramePage(int frame) {
+        return framePages[frame];
+    }
+
+    // Get the number of page tables mapping a frame, more than 1 for the frames of shared programs
+    public int getFrameReferenceCount(int frame) {
+        return frameRefs[frame];
+    }
+
+    // Build the label of a memory address from the frame table
+    public String getMemoryLabel(int address) {
+        if (address < 0 || address >= memorySize) {
+            throw new IndexOutOfBoundsException("Địa chỉ " + address + " nằm ngoài bộ nhớ.");
+        }
+        int frame = address / frameSize;
+        if (frame >= frameOwners.length || frameOwners[frame] == FREE_FRAME) {
+            return "Tự do";
+        }
+        Program program = findProgramByPID(frameOwners[frame]);
+        int pageIndex = framePages[frame];
+        int offset = address % frameSize;
+        if (frameOwners[frame] == OS_PID && pageIndex == KERNEL_PAGE) {
+            return "OS"; // Frame of a kernel object cache
+        }
+        // Bytes past the end of the program in its last page stay free
+        if (program == null || pageIndex * frameSize + offset >= program.getSize()) {
+            return "Tự do";
+        }
+        if (program.getPID() < 0) {
+            return "OS";
+        }
+        return "CT " + program.getPID() + " (" + program.getName() + ") - Trang " + pageIndex + " - " + offset;
+    }
+
+    // Add a program to memory and return it
+    public Program addProgram(String name, int size, Color color) {
+        // Validate input
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Cần thêm tên chương trình.");
+        }
+        // Reserve the name so that concurrent loads of the same name cannot both succeed
+        String key = nameKey(name);
+        if (programsByName.putIfAbsent(key, RESERVED) != null) {
+            throw new IllegalArgumentException("Chương trình đã tồn tại trong bộ nhớ.");
+        }
+
+        // Calculate the number of frames needed for the program
+        int totalFramesNeeded = (int) Math.ceil((double) size / frameSize);
+        if (demandPaging) {
+            // Pages are brought in by page faults, so the program may be larger than memory
+            Program newProgram = new Program(nextPID.getAndIncrement(), name, size, color, totalFramesNeeded, true);
+            publish(key, newProgram);
+            fireEntryChanged(newProgram.getPID());
+            return newProgram;
+        }
+        if (!reserveFrames(totalFramesNeeded)) {
+            programsByName.remove(key, RESERVED);
+            throw new IllegalArgumentException("Không đủ trang vật lý tự do để nạp chương trình này.");
+        }
+
+        // Create program and allocate frames
+        Program newProgram = new Program(nextPID.getAndIncrement(), name, size, color, totalFramesNeeded);
+
+        for (int pageIndex = 0; pageIndex < totalFramesNeeded; pageIndex++) {
+            // Select a free frame with the placement policy
+            int frame = allocateFrame(newProgram.getPID(), pageIndex);
+            // Record the page in the frame table
+            frameOwners[frame] = newProgram.getPID();
+            framePages[frame] = pageIndex;
+            frameRefs[frame] = 1;
+            // Map the page to the frame in the program's page table
+            newProgram.mapPage(pageIndex, frame);
+        }
+        wastedBytes.addAndGet(lastPageSlack(newProgram));
+        // Add program to the indexes once its page table is complete
+        publish(key, newProgram);
+        if (!listeners.isEmpty()) {
+            MemoryEvent.Builder changes = new MemoryEvent.Builder(this);
+            changes.addEntry(newProgram.getPID());
+            for (int pageIndex = 0; pageIndex < totalFramesNeeded; pageIndex++) {
+                addFrame(changes, newProgram.getFrame(pageIndex));
+            }
+            fireMemoryChanged(changes.build());
+        }
+        return newProgram;
+    }
+
+    // Load a program that maps the frames of a loaded program instead of frames of its own, with its own protection
+    // bits, and return it. The frames stay in memory until the last program mapping them is deleted.
+    public Program shareProgram(String sourceName, String name, int protection, Color color) {
+        // Validate input
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Cần thêm tên chương trình.");
+        }
+        Program source = sourceName == null ? null : programsByName.get(nameKey(sourceName));
+        if (source == null || source == RESERVED || source.getPID() == OS_PID) {
+            throw new IllegalArgumentException("Không tìm thấy chương trình có tên: " + sourceName);
+        }
+        if (source.isDemandPaged()) {
+            throw new IllegalArgumentException("Không thể chia sẻ chương trình được nạp theo yêu cầu.");
+        }
+        // Reserve the name so that concurrent loads of the same name cannot both succeed
+        String key = nameKey(name);
+        if (programsByName.putIfAbsent(key, RESERVED) != null) {
+            throw new IllegalArgumentException("Chương trình đã tồn tại trong bộ nhớ.");
+        }
+
+        Program shared;
+        shareLock.lock();
+        try {
+            List<Program> group = source.getShareGroup();
+            if (group == null) {
+                group = new ArrayList<>();
+                group.add(source);
+                source.setShareGroup(group);
+            }
+            // A delete that has not seen the share group frees the frames without the lock, so give up if the
+            // source is already being deleted
+            if (source.isDeleted()) {
+                programsByName.remove(key, RESERVED);
+                throw new IllegalArgumentException("Không tìm thấy chương trình có tên: " + sourceName);
+            }
+            shared = new Program(nextPID.getAndIncrement(), name, source.getSize(), color, source.getPageCount());
+            shared.setProtection(protection);
+            for (int pageIndex = 0; pageIndex < source.getPageCount(); pageIndex++) {
+                int frame = source.getFrame(pageIndex);
+                frameRefs[frame]++;
+                shared.mapPage(pageIndex, frame);
+            }
+            group.add(shared);
+            shared.setShareGroup(group);
+        } finally {
+            shareLock.unlock();
+        }
+        publish(key, shared);
+        fireEntryChanged(shared.getPID());
+        return shared;
+    }
+
+    // Set the protection bits of a program's mapping of its frames
+    public void setProtection(String name, int protection) {
+        Program program = name == null ? null : programsByName.get(nameKey(name));
+        if (program == null || program == RESERVED) {
+            throw new IllegalArgumentException("Không tìm thấy chương trình có tên: " + name);
+        }
+        program.setProtection(protection);
+        fireEntryChanged(program.getPID());
+    }
+
+    public void deleteProgram(String name) {
+        // Tìm chương trình theo tên
+        String key = name == null ? null : nameKey(name);
+        Program target = key == null ? null : programsByName.get(key);
+
+        // Claim the program so that concurrent deletes free its frames only once
+        if (target == null || !target.getName().equals(name) || !programsByName.remove(key, target)) {
+            throw new IllegalArgumentException("Không tìm thấy chương trình có tên: " + name);
+        }
+
+        MemoryEvent.Builder changes = listeners.isEmpty() ? null : new MemoryEvent.Builder(this);
+        boolean locked = target.isDemandPaged() || tlb != null;
+        if (locked) {
+            faultLock.lock();
+        }
+        try {
+            // Xóa chương trình khỏi danh sách trước khi giải phóng khung trang
+            programs.remove(target.getPID());
+            target.markDeleted();
+            deleteMappings(target, changes);
+            // Drop stale translations of the program
+            if (tlb != null) {
+                tlb.invalidateASID(target.getPID());
+            }
+        } finally {
+            if (locked) {
+                faultLock.unlock();
+            }
+        }
+        if (changes != null) {
+            changes.addEntry(target.getPID());
+            fireMemoryChanged(changes.build());
+        }
+    }
+
+    // Unmap the pages of a program being deleted, freeing the frames no other program maps, and record the changed
+    // frames and table entries if changes is not null
+    private void deleteMappings(Program target, MemoryEvent.Builder changes) {
+        // A share started before the program was marked deleted has published the share group by now
+        List<Program> group = target.getShareGroup();
+        if (group != null) {
+            shareLock.lock();
+        }
+        try {
+            Program heir = null;
+            if (group != null) {
+                group.remove(target);
+                heir = group.isEmpty() ? null : group.get(0);
+            }
+            boolean lastPageFreed = false;
+            for (int pageIndex = 0; pageIndex < target.getPageCount(); pageIndex++) {
+                if (!target.isPresent(pageIndex)) {
+                    continue; // Not resident in demand-paging mode
+                }
+                int frame = target.getFrame(pageIndex);
+                if (group != null && --frameRefs[frame] > 0) {
+                    // Other programs still map the frame; one of them takes it over in the frame table
+                    if (frameOwners[frame] == target.getPID()) {
+                        frameOwners[frame] = heir.getPID();
+                        if (changes != null) {
+                            changes.addEntry(heir.getPID());
+                            addFrame(changes, frame);
+                        }
+                    }
+                    continue;
+                }
+                if (target.isDemandPaged()) {
+                    replacementPolicy.pageRemoved(frame);
+                }
+                frameOwners[frame] = FREE_FRAME;
+                framePages[frame] = -1;
+                frameRefs[frame] = 0;
+                freeFrame(frame);
+                if (changes != null) {
+                    addFrame(changes, frame);
+                }
+                lastPageFreed = pageIndex == target.getPageCount() - 1;
+            }
+            // The slack of the last page was counted once, when its frame was loaded
+            if (lastPageFreed) {
+                wastedBytes.addAndGet(-lastPageSlack(target));
+            }
+        } finally {
+            if (group != null) {
+                shareLock.unlock();
+            }
+        }
+    }
+
+    // Allocate a free frame to the OS for kernel objects, or return -1 if no frame is free.
+    // Resident pages are not evicted to make room, even in demand-paging mode.
+    public int allocateKernelFrame() {
+        if (!reserveFrames(1)) {
+            return -1;
+        }
+        int frame = allocateFrame(OS_PID, 0);
+        frameOwners[frame] = OS_PID;
+        framePages[frame] = KERNEL_PAGE;
+        frameRefs[frame] = 1;
+        kernelFrameCount.incrementAndGet();
+        fireFrameChanged(frame);
+        return frame;
+    }
+
+    // Return a frame obtained from allocateKernelFrame
+    public void freeKernelFrame(int frame) {
+        if (frame < 0 || frame >= frameOwners.length || frameOwners[frame] != OS_PID || framePages[frame] != KERNEL_PAGE) {
+            throw new IllegalArgumentException("Khung trang " + frame + " không phải khung của nhân.");
+        }
+        frameOwners[frame] = FREE_FRAME;
+        framePages[frame] = -1;
+        frameRefs[frame] = 0;
+        kernelFrameCount.decrementAndGet();
+        freeFrame(frame);
+        fireFrameChanged(frame);
+    }
+
+    public int getKernelFrameCount() {
+        return kernelFrameCount.get();
+    }
+
+    // Snapshot of the fragmentation metrics in bytes, combined from the summaries the stripes keep up to date.
+    // A run of free frames crossing a stripe boundary counts as one hole. With concurrent loads the stripes may be
+    // read at slightly different moments.
+    public MemoryMetrics getMetrics() {
+        FrameStripe[] current = stripes;
+        long freeFrames = 0;
+        int holeCount = 0;
+        int largestRun = 0;
+        int openRun = 0; // Free frames at the end of the stripes combined so far
+        for (FrameStripe stripe : current) {
+            StripeSummary summary = stripe.summary;
+            freeFrames += summary.freeCount;
+            holeCount += summary.holeCount;
+            largestRun = Math.max(largestRun, summary.largestRun);
+            if (openRun > 0 && summary.prefixRun > 0) {
+                holeCount--; // The run continues from the previous stripe
+            }
+            if (summary.prefixRun == stripe.size) {
+                openRun += stripe.size;
+            } else {
+                largestRun = Math.max(largestRun, openRun + summary.prefixRun);
+                openRun = summary.suffixRun;
+            }
+        }
+        largestRun = Math.max(largestRun, openRun);
+        return new MemoryMetrics((long) frameOwners.length * frameSize, freeFrames * frameSize, holeCount,
+                (long) largestRun * frameSize, wastedBytes.get());
+    }
+
+    // Initialize memory and OS program
+    public void initializeMemory(int memorySize, int frameSize, int osSize) {
+        initializeMemory(memorySize, frameSize, osSize, (done, total) -> true);
+    }
+
+    // Initialize memory and OS program, reporting the frames built so far to the monitor. Returns false, leaving the
+    // current memory as it was, if the monitor stops the initialization before the new frames replace it.
+    public boolean initializeMemory(int memorySize, int frameSize, int osSize, ProgressMonitor monitor) {
+        // Build the frame table and the stripes of the new memory first, one chunk of frames between reports
+        int frameCount = memorySize / frameSize;
+        if (frameCount > Program.MAX_FRAMES) {
+            throw new IllegalArgumentException("Bộ nhớ có quá nhiều khung trang: tối đa " + Program.MAX_FRAMES + " khung.");
+        }
+        if (Math.ceil((double) osSize / frameSize) > frameCount) {
+            throw new IllegalArgumentException("Không đủ trang vật lý tự do để nạp hệ điều hành.");
+        }
+        long work = 2L * frameCount;
+        if (!monitor.progress(0, work)) {
+            return false;
+        }
+        int[] newOwners = new int[frameCount];
+        int[] newPages = new int[frameCount];
+        int[] newRefs = new int[frameCount];
+        for (int start = 0; start < frameCount; start += INIT_CHUNK_FRAMES) {
+            int end = Math.min(start + INIT_CHUNK_FRAMES, frameCount);
+            Arrays.fill(newOwners, start, end, FREE_FRAME);
+            Arrays.fill(newPages, start, end, -1);
+            if (!monitor.progress(end, work)) {
+                return false;
+            }
+        }
+        int stripeSize = Math.max((frameCount + stripeCount - 1) / stripeCount, 1);
+        FrameStripe[] newStripes = new FrameStripe[(frameCount + stripeSize - 1) / stripeSize];
+        for (int i = 0; i < newStripes.length; i++) {
+            int base = i * stripeSize;
+            newStripes[i] = new FrameStripe(base, Math.min(stripeSize, frameCount - base), placementPolicy.copy());
+            if (!monitor.progress(frameCount + base + newStripes[i].size, work)) {
+                return false;
+            }
+        }
+
+        // Reset memory
+        this.memorySize = memorySize;
+        this.frameSize = frameSize;
+        programs.clear();
+        programsByName.clear();
+        nextPID.set(0);
+        kernelFrameCount.set(0);
+        wastedBytes.set(0);
+        pageFaults = 0;
+        evictions = 0;
+        writeBacks = 0;
+        if (tlb != null) {
+            tlb.flush();
+        }
+
+        // Every frame starts free, divided into equal stripes
+        frameOwners = newOwners;
+        framePages = newPages;
+        frameRefs = newRefs;
+        stripes = newStripes;
+        freeFrameCount.set(frameCount);
+        placementPolicy.reset();
+        replacementPolicy.reset(frameCount);
+
+        // Create OS program and allocate frames
+        int totalFramesNeeded = (int) Math.ceil((double) osSize / frameSize);
+        Program osProgram = new Program(OS_PID, "OS", osSize, Color.LIGHT_GRAY, totalFramesNeeded); // ID = -1 so that user's program ID starts from 0
+        if (!reserveFrames(totalFramesNeeded)) {
+            throw new IllegalArgumentException("Không đủ trang vật lý tự do để nạp hệ điều hành.");
+        }
+
+        for (int pageIndex = 0; pageIndex < totalFramesNeeded; pageIndex++) {
+            stripeOf(pageIndex).allocate(pageIndex); // The OS occupies the lowest frames
+            // Record the page in the frame table
+            frameOwners[pageIndex] = osProgram.getPID();
+            framePages[pageIndex] = pageIndex;
+            frameRefs[pageIndex] = 1;
+            // Map the page to the frame in the OS page table
+            osProgram.mapPage(pageIndex, pageIndex);
+        }
+        wastedBytes.addAndGet(lastPageSlack(osProgram));
+        // Add OS program to the indexes
+        programs.put(osProgram.getPID(), osProgram);
+        programsByName.put(nameKey(osProgram.getName()), osProgram);
+        if (!listeners.isEmpty()) {
+            MemoryEvent.Builder changes = new MemoryEvent.Builder(this);
+            changes.reset();
+            fireMemoryChanged(changes.build());
+        }
+        return true;
+    }
+
+
+    // Find a program by its ID
+    public Program findProgramByPID(int pid) {
+        return programs.get(pid);
+    }
+
+
+    // Check if a program name already exists, ignoring case
+    public boolean isProgramNameExists(String name) {
+        return programsByName.containsKey(nameKey(name));
+    }
+
+
+    // Replace the reserved name with a fully loaded program and make it visible by PID
+    private void publish(String key, Program program) {
+        programs.put(program.getPID(), program);
+        programsByName.replace(key, RESERVED, program);
+    }
+
+
+    // Key of a program name in the case-insensitive name index
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+
+    // Reserve free frames for a load or page fault, failing if there are not enough
+    private boolean reserveFrames(int count) {
+        while (true) {
+            int free = freeFrameCount.get();
+            if (free < count) {
+                return false;
+            }
+            if (freeFrameCount.compareAndSet(free, free - count)) {
+                return true;
+            }
+        }
+    }
+
+
+    // Allocate a reserved frame, starting from the program's home stripe
+    private int allocateFrame(int pid, int pageIndex) {
+        int home = Math.floorMod(pid, stripes.length);
+        while (true) {
+            for (int i = 0; i < stripes.length; i++) {
+                int frame = stripes[(home + i) % stripes.length].allocateNext(pageIndex);
+                if (frame >= 0) {
+                    return frame;
+                }
+            }
+            // Every stripe was momentarily empty while a reserved frame was being freed; try again
+            Thread.onSpinWait();
+        }
+    }
+
+
+    // Return a frame to its stripe and make it available for reservation
+    private void freeFrame(int frame) {
+        stripeOf(frame).free(frame);
+        freeFrameCount.incrementAndGet();
+    }
+
+
+    private FrameStripe stripeOf(int frame) {
+        return stripes[frame / stripes[0].size];
+    }
+
+    // Translate a logical address to a physical address
+    public int translateAddress(int programID, int offset) {
+        return translateAddress(programID, offset, false);
+    }
+
+
+    @Override
+    public long translate(int id, long logicalAddress, boolean write) {
+        if (logicalAddress < 0 || logicalAddress > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Offset vượt quá kích thước chương trình.");
+        }
+        return translateAddress(id, (int) logicalAddress, write);
+    }
+
+
+    // Translate a logical address, marking the page dirty if the access is a write
+    public int translateAddress(int programID, int offset, boolean write) {
+        Program program = programs.get(programID);
+        if (program == null) {
+            throw new IllegalArgumentException("Chương trình không có trong bộ nhớ.");
+        }
+        int pageIndex = offset / frameSize;
+        int pageOffset = offset % frameSize;
+        if (offset < 0 || pageIndex >= program.getPageCount()) {
+            throw new IllegalArgumentException("Offset vượt quá kích thước chương trình.");
+        }
+        int access = write ? SegmentTable.WRITE : SegmentTable.READ;
+        if ((program.getProtection() & access) != access) {
+            throw new IllegalArgumentException("Vi phạm quyền truy cập trang.");
+        }
+        if (tlb != null || program.isDemandPaged()) {
+            int physicalAddress;
+            MemoryEvent.Builder changes;
+            faultLock.lock();
+            try {
+                physicalAddress = translateLocked(program, pageIndex, pageOffset, write);
+            } finally {
+                changes = faultChanges;
+                faultChanges = null;
+                faultLock.unlock();
+            }
+            if (changes != null) {
+                fireMemoryChanged(changes.build());
+            }
+            countAccess(physicalAddress);
+            return physicalAddress;
+        }
+
+        // Lock-free path: the page table of a fully loaded program does not change until it is deleted
+        int entry = program.getPageTableEntry(pageIndex);
+        if ((entry & Program.PRESENT) == 0) {
+            throw new IllegalArgumentException("Trang không có trong bộ nhớ.");
+        }
+        markAccessed(program, pageIndex, entry, write);
+        // The translation is only valid if the program was not deleted meanwhile
+        if (program.isDeleted()) {
+            throw new IllegalArgumentException("Chương trình không có trong bộ nhớ.");
+        }
+        int physicalAddress = (entry >>> Program.FLAG_BITS) * frameSize + pageOffset;
+        countAccess(physicalAddress);
+        return physicalAddress;
+    }
+
+
+    // Count a translation in the heat map, if there is one
+    private void countAccess(int physicalAddress) {
+        HeatMap heat = heatMap;
+        if (heat != null) {
+            heat.recordAccess(physicalAddress);
+        }
+    }
+
+
+    // Translate through the TLB and handle page faults, holding the fault lock
+    private int translateLocked(Program program, int pageIndex, int pageOffset, boolean write) {
+        if (program.isDeleted()) {
+            throw new IllegalArgumentException("Chương trình không có trong bộ nhớ.");
+        }
+        // Use the cached translation if the TLB has one
+        if (tlb != null) {
+            int cachedFrame = tlb.lookup(program.getPID(), pageIndex);
+            if (cachedFrame >= 0) {
+                recordAccess(program, pageIndex, cachedFrame, write);
+                return cachedFrame * frameSize + pageOffset;
+            }
+        }
+        int entry = program.getPageTableEntry(pageIndex);
+        int frame;
+        if ((entry & Program.PRESENT) != 0) {
+            frame = entry >>> Program.FLAG_BITS;
+        } else if (program.isDemandPaged()) {
+            frame = handlePageFault(program, pageIndex);
+        } else {
+            throw new IllegalArgumentException("Trang không có trong bộ nhớ.");
+        }
+        recordAccess(program, pageIndex, frame, write);
+        if (tlb != null) {
+            tlb.insert(program.getPID(), pageIndex, frame);
+        }
+        return frame * frameSize + pageOffset;
+    }
+
+
+    // Mark a page as referenced (and dirty on a write) and let the replacement policy see the access
+    private void recordAccess(Program program, int pageIndex, int frame, boolean write) {
+        markAccessed(program, pageIndex, program.getPageTableEntry(pageIndex), write);
+        if (program.isDemandPaged()) {
+            replacementPolicy.pageAccessed(frame);
+        }
+    }
+
+
+    // Set the referenced and dirty flags, skipping the write when they are already set
+    private static void markAccessed(Program program, int pageIndex, int entry, boolean write) {
+        int flags = write ? Program.REFERENCED | Program.DIRTY : Program.REFERENCED;
+        if ((entry & flags) != flags) {
+            program.setFlags(pageIndex, flags);
+        }
+    }
+
+
+    // Bring a page into memory, evicting another page if no frame is free
+    private int handlePageFault(Program program, int pageIndex) {
+        if (!listeners.isEmpty()) {
+            faultChanges = new MemoryEvent.Builder(this);
+            faultChanges.addEntry(program.getPID());
+        }
+        int frame;
+        if (reserveFrames(1)) {
+            frame = allocateFrame(program.getPID(), pageIndex);
+        } else {
+            frame = replacementPolicy.selectVictim();
+            if (frame == -1) {
+                faultChanges = null; // Nothing changed
+                throw new IllegalArgumentException("Không có trang nào có thể thay thế để nạp trang này.");
+            }
+            evictPage(frame);
+        }
+        frameOwners[frame] = program.getPID();
+        framePages[frame] = pageIndex;
+        frameRefs[frame] = 1;
+        program.mapPage(pageIndex, frame);
+        if (pageIndex == program.getPageCount() - 1) {
+            wastedBytes.addAndGet(lastPageSlack(program));
+        }
+        if (faultChanges != null) {
+            addFrame(faultChanges, frame);
+        }
+        replacementPolicy.pageLoaded(frame);
+        program.recordPageFault();
+        pageFaults++;
+        HeatMap heat = heatMap;
+        if (heat != null) {
+            heat.recordFault((long) frame * frameSize, (long) (frame + 1) * frameSize);
+        }
+        return frame;
+    }
+
+
+    // Unmap the page held by a frame so the frame can be reused
+    private void evictPage(int frame) {
+        Program victim = programs.get(frameOwners[frame]);
+        int victimPage = framePages[frame];
+        if ((victim.getPageTableEntry(victimPage) & Program.DIRTY) != 0) {
+            writeBacks++;
+        }
+        victim.unmapPage(victimPage);
+        if (victimPage == victim.getPageCount() - 1) {
+            wastedBytes.addAndGet(-lastPageSlack(victim));
+        }
+        if (tlb != null) {
+            tlb.invalidate(victim.getPID(), victimPage);
+        }
+        if (faultChanges != null) {
+            faultChanges.addEntry(victim.getPID());
+        }
+        evictions++;
+    }
+
+
+    // Record the addresses of a frame as changed
+    private void addFrame(MemoryEvent.Builder changes, int frame) {
+        changes.addRange(frame * frameSize, (frame + 1) * frameSize);
+    }
+
+
+    // Publish a change to the table entry of a program alone
+    private void fireEntryChanged(int pid) {
+        if (!listeners.isEmpty()) {
+            MemoryEvent.Builder changes = new MemoryEvent.Builder(this);
+            changes.addEntry(pid);
+            fireMemoryChanged(changes.build());
+        }
+    }
+
+
+    // Publish a change to a kernel frame
+    private void fireFrameChanged(int frame) {
+        if (!listeners.isEmpty()) {
+            MemoryEvent.Builder changes = new MemoryEvent.Builder(this);
+            changes.addEntry(OS_PID);
+            addFrame(changes, frame);
+            fireMemoryChanged(changes.build());
+        }
+    }
+
+
+    private void fireMemoryChanged(MemoryEvent event) {
+        for (MemoryListener listener : listeners) {
+            listener.memoryChanged(event);
+        }
+    }
+
+
+    // Bytes of the last page of a program left unused past its end
+    private long lastPageSlack(Program program) {
+        return (long) program.getPageCount() * frameSize - program.getSize();
+    }
+
+
+    // Free-run summary of a stripe, replaced as a whole after every change so that readers need no lock
+    private static final class StripeSummary {
+        final int freeCount; // Free frames in the stripe
+        final int holeCount; // Runs of free frames in the stripe
+        final int largestRun; // Longest run of free frames
+        final int prefixRun; // Free frames at the start of the stripe
+        final int suffixRun; // Free frames at the end of the stripe
+
+        StripeSummary(int freeCount, int holeCount, int largestRun, int prefixRun, int suffixRun) {
+            this.freeCount = freeCount;
+            this.holeCount = holeCount;
+            this.largestRun = largestRun;
+            this.prefixRun = prefixRun;
+            this.suffixRun = suffixRun;
+        }
+    }
+
+
+    // A contiguous range of frames with its own allocator and lock
+    private static class FrameStripe {
+        private final int base; // First frame of the stripe
+        private final int size; // Number of frames in the stripe
+        private final FrameAllocator allocator; // Free frames of the stripe, numbered from 0
+        private final HoleIndex runs; // Runs of free frames of the stripe, numbered from 0
+        private final ReentrantLock lock;
+        private volatile StripeSummary summary; // Free runs as of the last change
+        private PlacementPolicy placementPolicy; // Policy choosing the frames of this stripe, guarded by the lock
+
+        FrameStripe(int base, int size, PlacementPolicy placementPolicy) {
+            this.base = base;
+            this.size = size;
+            this.placementPolicy = placementPolicy;
+            this.allocator = new FrameAllocator(size);
+            this.runs = new HoleIndex();
+            this.runs.free(0, size);
+            this.lock = new ReentrantLock();
+            summarize();
+        }
+
+        void setPlacementPolicy(PlacementPolicy placementPolicy) {
+            lock.lock();
+            try {
+                this.placementPolicy = placementPolicy;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Allocate a frame chosen by the placement policy, or return -1 if the stripe is full
+        int allocateNext(int pageIndex) {
+            lock.lock();
+            try {
+                if (allocator.getFreeCount() == 0) {
+                    return -1;
+                }
+                int frame = placementPolicy.selectFrame(allocator, pageIndex);
+                allocator.allocate(frame);
+                runs.allocate(frame, 1);
+                summarize();
+                return base + frame;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Allocate a specific frame
+        void allocate(int frame) {
+            lock.lock();
+            try {
+                allocator.allocate(frame - base);
+                runs.allocate(frame - base, 1);
+                summarize();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void free(int frame) {
+            lock.lock();
+            try {
+                allocator.free(frame - base);
+                runs.free(frame - base, 1);
+                summarize();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Publish the free runs after a change, holding the lock
+        private void summarize() {
+            int lastRun = runs.holeAt(size - 1);
+            summary = new StripeSummary(allocator.getFreeCount(), runs.getHoleCount(), runs.getLargestHole(),
+                    runs.holeLength(0), lastRun < 0 ? 0 : size - lastRun);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package model;
+
+// Strategy used by Paging to choose which free frame receives a page
+public interface PlacementPolicy {
+    // Choose a free frame for a page; the allocator has at least one free frame
+    int selectFrame(FrameAllocator allocator, int pageIndex);
+
+    // Forget any state kept between allocations, called when memory is initialized
+    default void reset() {
+    }
+
+    // Create a policy with the same settings and its own state, for a stripe of frames of its own; policies without
+    // state may return themselves
+    default PlacementPolicy copy() {
+        return this;
+    }
+}
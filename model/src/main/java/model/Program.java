@@ -0,0 +1,146 @@
+package model;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class Program {
+    // Page table entries hold the frame number above FLAG_BITS and the flags below it
+    public static final int FLAG_BITS = 6;
+    public static final int MAX_FRAMES = 1 << (32 - FLAG_BITS); // Frames an entry can address with the bits left
+    public static final int PRESENT = 1; // The page is in memory
+    public static final int REFERENCED = 1 << 1; // The page has been accessed
+    public static final int DIRTY = 1 << 2; // The page has been written
+
+    private final AtomicIntegerArray pageTable; // Page table of the program, one entry per page, updated atomically
+    private int PID; // ID of the program
+    private String name; // Name of the program
+    private int size; // Size of the program in bytes
+    private Color color; // Color of the program for visualization
+    private long pageFaults; // Number of page faults of the program
+    private final boolean demandPaged; // Whether pages are loaded on first access
+    private volatile boolean deleted; // Set when the program is removed from memory
+    private volatile int protection; // SegmentTable protection bits of this mapping of the program's frames
+    private volatile List<Program> shareGroup; // Programs mapping the same frames, null while the frames are not shared
+
+    public Program(int PID, String name, int size, Color color, int pageCount) {
+        this(PID, name, size, color, pageCount, false);
+    }
+
+    public Program(int PID, String name, int size, Color color, int pageCount, boolean demandPaged) {
+        this.PID = PID;
+        this.name = name;
+        this.size = size;
+        this.pageTable = new AtomicIntegerArray(pageCount);
+        this.color = color;
+        this.demandPaged = demandPaged;
+        this.protection = SegmentTable.READ | SegmentTable.WRITE | SegmentTable.EXECUTE;
+    }
+
+    public int getPID() {
+        return PID;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Color getColor() {
+        return color;
+    }    
+
+    public boolean isDemandPaged() {
+        return demandPaged;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    // Mark the program as removed so that concurrent translations can detect it
+    public void markDeleted() {
+        deleted = true;
+    }
+
+    public int getProtection() {
+        return protection;
+    }
+
+    void setProtection(int protection) {
+        this.protection = protection;
+    }
+
+    // Whether the program's frames are mapped by other programs as well
+    public boolean isShared() {
+        List<Program> group = shareGroup;
+        return group != null && group.size() > 1;
+    }
+
+    List<Program> getShareGroup() {
+        return shareGroup;
+    }
+
+    void setShareGroup(List<Program> shareGroup) {
+        this.shareGroup = shareGroup;
+    }
+
+    public long getPageFaultCount() {
+        return pageFaults;
+    }
+
+    public void recordPageFault() {
+        pageFaults++;
+    }
+
+    public int getPageCount() {
+        return pageTable.length();
+    }
+
+    public int getPageTableEntry(int pageIndex) {
+        return pageTable.get(pageIndex);
+    }
+
+    // Get the frame a page is mapped to
+    public int getFrame(int pageIndex) {
+        return pageTable.get(pageIndex) >>> FLAG_BITS;
+    }
+
+    public boolean isPresent(int pageIndex) {
+        return (pageTable.get(pageIndex) & PRESENT) != 0;
+    }
+
+    // Map a page to a frame and mark it as present
+    public void mapPage(int pageIndex, int frame) {
+        pageTable.set(pageIndex, frame << FLAG_BITS | PRESENT);
+    }
+
+    // Mark a page as not present, keeping the last frame it was mapped to
+    public void unmapPage(int pageIndex) {
+        pageTable.getAndUpdate(pageIndex, entry -> entry & ~((1 << FLAG_BITS) - 1));
+    }
+
+    // Set flags of a page; translations of the same page may set flags concurrently, so none of their bits is lost
+    public void setFlags(int pageIndex, int flags) {
+        pageTable.getAndUpdate(pageIndex, entry -> entry | flags);
+    }
+
+    public void clearFlags(int pageIndex, int flags) {
+        pageTable.getAndUpdate(pageIndex, entry -> entry & ~flags);
+    }
+
+    // Get a snapshot of the page table as Page objects, for display
+    public List<Page> getPages() {
+        List<Page> pages = new ArrayList<>(pageTable.length());
+        for (int i = 0; i < pageTable.length(); i++) {
+            Page page = new Page(i, getFrame(i));
+            page.setMark(isPresent(i) ? 1 : 0);
+            pages.add(page);
+        }
+        return pages;
+    }
+}
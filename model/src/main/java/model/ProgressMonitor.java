@@ -0,0 +1,8 @@
+package model;
+
+// Receives the progress of a long operation of a memory manager, on the thread running it. The operation checks the
+// monitor while it has not changed the manager yet, so it can be stopped without leaving the manager half updated.
+public interface ProgressMonitor {
+    // Report that done of total units of work are complete; return false to stop the operation
+    boolean progress(long done, long total);
+}
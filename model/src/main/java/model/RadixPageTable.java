@@ -0,0 +1,143 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Multi-level (radix tree) page table; table nodes are only allocated for regions that have mapped pages
+public class RadixPageTable extends PageTable {
+    public static final int MAX_LEVEL_BITS = 24; // Widest index of a level, so that a node fits in one Java array
+    private final int[] levelBits; // Index bits resolved at each level, root first
+    private final Map<Integer, Object> roots; // Root node of each address space
+    private long tableBytes; // Memory used by all table nodes
+
+    // Create a table with the given number of levels, splitting the page number bits evenly between them
+    public RadixPageTable(int levels, int addressBits, int pageBits, int frameCount) {
+        super(addressBits, pageBits, frameCount);
+        int pageNumberBits = getPageNumberBits();
+        if (levels <= 0 || levels > pageNumberBits) {
+            throw new IllegalArgumentException("Số mức bảng trang không hợp lệ.");
+        }
+        // Lower levels get equal shares, the root takes the remainder
+        this.levelBits = new int[levels];
+        for (int level = 0; level < levels; level++) {
+            levelBits[level] = pageNumberBits / levels;
+        }
+        levelBits[0] += pageNumberBits % levels;
+        if (levelBits[0] > MAX_LEVEL_BITS) {
+            throw new IllegalArgumentException("Bảng trang cần thêm mức: mỗi mức chỉ được dùng tối đa "
+                    + MAX_LEVEL_BITS + " bit chỉ số.");
+        }
+        this.roots = new HashMap<>();
+    }
+
+    public int getLevels() {
+        return levelBits.length;
+    }
+
+    @Override
+    public long getTableBytes() {
+        return tableBytes;
+    }
+
+    @Override
+    public void removeAddressSpace(int id) {
+        Object root = roots.remove(id);
+        if (root != null) {
+            release(root, 0);
+        }
+    }
+
+
+    @Override
+    protected int lookupFrame(int id, long pageNumber) {
+        Object node = roots.get(id);
+        int shift = getPageNumberBits();
+        for (int level = 0; level < levelBits.length; level++) {
+            if (node == null) {
+                recordWalk(level); // The walk stopped at a missing table
+                return -1;
+            }
+            shift -= levelBits[level];
+            int index = indexAt(pageNumber, level, shift);
+            if (level == levelBits.length - 1) {
+                recordWalk(level + 1);
+                return ((int[]) node)[index] - 1;
+            }
+            node = ((Object[]) node)[index];
+        }
+        return -1;
+    }
+
+    @Override
+    protected void mapFrame(int id, long pageNumber, int frame) {
+        Object node = roots.get(id);
+        if (node == null) {
+            node = newNode(0);
+            roots.put(id, node);
+        }
+        int shift = getPageNumberBits();
+        for (int level = 0; level < levelBits.length - 1; level++) {
+            shift -= levelBits[level];
+            Object[] table = (Object[]) node;
+            int index = indexAt(pageNumber, level, shift);
+            if (table[index] == null) {
+                table[index] = newNode(level + 1);
+            }
+            node = table[index];
+        }
+        shift -= levelBits[levelBits.length - 1];
+        ((int[]) node)[indexAt(pageNumber, levelBits.length - 1, shift)] = frame + 1; // 0 marks an unmapped entry
+    }
+
+    @Override
+    protected int unmapFrame(int id, long pageNumber) {
+        Object node = roots.get(id);
+        int shift = getPageNumberBits();
+        for (int level = 0; level < levelBits.length - 1 && node != null; level++) {
+            shift -= levelBits[level];
+            node = ((Object[]) node)[indexAt(pageNumber, level, shift)];
+        }
+        if (node == null) {
+            return -1;
+        }
+        shift -= levelBits[levelBits.length - 1];
+        int[] leaf = (int[]) node;
+        int index = indexAt(pageNumber, levelBits.length - 1, shift);
+        int frame = leaf[index] - 1;
+        leaf[index] = 0;
+        return frame;
+    }
+
+
+    // Index into the table at a level for a page number
+    private int indexAt(long pageNumber, int level, int shift) {
+        return (int) ((pageNumber >>> shift) & ((1L << levelBits[level]) - 1));
+    }
+
+
+    // Allocate a table node for a level: leaves hold frame numbers, inner nodes hold child tables
+    private Object newNode(int level) {
+        int entries = 1 << levelBits[level];
+        tableBytes += (long) entries * ENTRY_SIZE;
+        return level == levelBits.length - 1 ? new int[entries] : new Object[entries];
+    }
+
+
+    // Free the frames and table nodes below a node
+    private void release(Object node, int level) {
+        tableBytes -= (long) (1 << levelBits[level]) * ENTRY_SIZE;
+        if (level == levelBits.length - 1) {
+            for (int entry : (int[]) node) {
+                if (entry != 0) {
+                    releaseFrame(entry - 1);
+                }
+            }
+            return;
+        }
+        for (Object child : (Object[]) node) {
+            if (child != null) {
+                release(child, level + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package model;
+
+import java.util.Random;
+
+// Place each page in a free frame chosen uniformly at random
+public class RandomPlacement implements PlacementPolicy {
+    private final Random random;
+
+    public RandomPlacement() {
+        this(new Random());
+    }
+
+    public RandomPlacement(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public int selectFrame(FrameAllocator allocator, int pageIndex) {
+        return allocator.randomFree(random);
+    }
+
+    // The copy draws from its own random source seeded from this one, so seeded runs stay reproducible
+    @Override
+    public PlacementPolicy copy() {
+        return new RandomPlacement(new Random(random.nextLong()));
+    }
+}
@@ -0,0 +1,19 @@
+package model;
+
+// Strategy used by Paging in demand-paging mode to choose which resident page to evict
+public interface ReplacementPolicy {
+    // Forget all resident frames and prepare for a memory of the given number of frames
+    void reset(int frameCount);
+
+    // A page was brought into a frame
+    void pageLoaded(int frame);
+
+    // The page in a frame was accessed
+    void pageAccessed(int frame);
+
+    // The page in a frame was removed without being evicted (e.g. its program was deleted)
+    void pageRemoved(int frame);
+
+    // Choose a frame to evict and stop tracking it, or return -1 if no frame can be evicted
+    int selectVictim();
+}
@@ -0,0 +1,44 @@
+package model;
+
+// FIFO replacement that gives referenced pages a second chance by moving them to the back of the queue
+public class SecondChanceReplacement implements ReplacementPolicy {
+    private final FrameList queue = new FrameList(); // Resident frames in loading order
+    private boolean[] referenced = new boolean[0]; // Reference bit of each frame
+
+    @Override
+    public void reset(int frameCount) {
+        queue.reset(frameCount);
+        referenced = new boolean[frameCount];
+    }
+
+    @Override
+    public void pageLoaded(int frame) {
+        queue.addLast(frame);
+        referenced[frame] = false;
+    }
+
+    @Override
+    public void pageAccessed(int frame) {
+        referenced[frame] = true;
+    }
+
+    @Override
+    public void pageRemoved(int frame) {
+        queue.remove(frame);
+    }
+
+    @Override
+    public int selectVictim() {
+        int victim = queue.first();
+        // Each referenced page is passed over at most once, so this ends within one round
+        while (victim != -1 && referenced[victim]) {
+            referenced[victim] = false;
+            queue.moveToLast(victim);
+            victim = queue.first();
+        }
+        if (victim != -1) {
+            queue.remove(victim);
+        }
+        return victim;
+    }
+}
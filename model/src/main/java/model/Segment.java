@@ -0,0 +1,137 @@
+package model;
+
+import java.awt.Color;
+
+public class Segment {
+    private int SID; // ID of the segment
+    private String name; // Name of the segment
+    private volatile int mark; // Mark to indicate if the segment is in memory
+    private volatile int address; // Base address of the segment in memory, changed when memory is compacted
+    private volatile int length; // Length of the segment, changed when the segment is resized
+    private Color color; // Color of the segment for visualization
+    private SegmentTable process; // Process whose segment table holds the segment, or null for a standalone segment
+    private int segmentNumber; // Number of the segment in its process's segment table
+    private volatile int swapSlot; // Offset of the segment's image in the swap store, or -1 when it is not swapped out
+    private volatile long lastAccess; // Access clock at the latest translation, for LRU swapping
+    private volatile long loadTime; // Access clock when the segment was last placed in memory, for oldest-first swapping
+    private int references; // References keeping the segment in memory: its creator's and one per shared mapping
+    private boolean released; // Whether the creator's reference was dropped
+
+    public Segment(int SID, String name, int address, int length, Color color) {
+        this.SID = SID;
+        this.name = name;
+        mark = 0;
+        this.address = address;
+        this.length = length;
+        this.color = color;
+        this.swapSlot = -1;
+        this.references = 1;
+    }
+
+    public int getSID() {
+        return SID;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMark() {
+        return mark;
+    }
+
+    public void setMark(int mark) {
+        this.mark = mark;
+    }
+
+    public int getAddress() {
+        return address;
+    }
+
+    // Move the segment to a new base address; the caller keeps the free-memory bookkeeping consistent
+    void setAddress(int address) {
+        this.address = address;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    // Change the length of the segment; the caller keeps the free-memory bookkeeping consistent
+    void setLength(int length) {
+        this.length = length;
+    }
+
+    public SegmentTable getProcess() {
+        return process;
+    }
+
+    public int getSegmentNumber() {
+        return segmentNumber;
+    }
+
+    void setProcess(SegmentTable process, int segmentNumber) {
+        this.process = process;
+        this.segmentNumber = segmentNumber;
+    }
+
+    // Whether the segment was swapped out to the backing store and must be brought back in before use
+    public boolean isSwappedOut() {
+        return swapSlot >= 0;
+    }
+
+    int getSwapSlot() {
+        return swapSlot;
+    }
+
+    void setSwapSlot(int swapSlot) {
+        this.swapSlot = swapSlot;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    long getLoadTime() {
+        return loadTime;
+    }
+
+    // Record the placement of the segment in memory, which also counts as an access
+    void setLoadTime(long loadTime) {
+        this.loadTime = loadTime;
+        this.lastAccess = loadTime;
+    }
+
+    // Record a translation, skipping the write when a later one was already recorded
+    void touch(long time) {
+        if (lastAccess < time) {
+            lastAccess = time;
+        }
+    }
+
+    // Number of references keeping the segment in memory, more than 1 while it is shared with other processes
+    public int getReferenceCount() {
+        return references;
+    }
+
+    void retain() {
+        references++;
+    }
+
+    // Drop a reference and return the number left
+    int release() {
+        return --references;
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    void setReleased() {
+        released = true;
+    }
+}
@@ -0,0 +1,123 @@
+package model;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Segment table of a process: its segments indexed by segment number, each with the base and limit of its Segment
+// and protection bits. Tables are changed by Segmentation under its allocation lock and read by translations without it.
+public class SegmentTable {
+    public static final int READ = 1; // The segment may be read
+    public static final int WRITE = 2; // The segment may be written
+    public static final int EXECUTE = 4; // The segment may be executed
+
+    private final int PID; // ID of the process
+    private final String name; // Name of the process
+    private final Color color; // Color of the process's segments for visualization
+    private volatile Segment[] segments; // Segment of each segment number, or null for an unused number
+    private volatile int[] protections; // Protection bits of each segment number
+    private int segmentCount; // Number of segment numbers handed out
+
+    public SegmentTable(int PID, String name, Color color) {
+        this.PID = PID;
+        this.name = name;
+        this.color = color;
+        this.segments = new Segment[4];
+        this.protections = new int[4];
+    }
+
+    public int getPID() {
+        return PID;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    // Number of segment numbers handed out, including those of removed segments
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    // Get the segment with the given number, or null if there is none
+    public Segment getSegment(int segmentNumber) {
+        Segment[] table = segments;
+        return segmentNumber >= 0 && segmentNumber < table.length ? table[segmentNumber] : null;
+    }
+
+    public int getProtection(int segmentNumber) {
+        int[] table = protections;
+        return segmentNumber >= 0 && segmentNumber < table.length ? table[segmentNumber] : 0;
+    }
+
+    // Get the segments of the process in segment-number order, skipping removed ones
+    public List<Segment> getSegments() {
+        List<Segment> snapshot = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment != null) {
+                snapshot.add(segment);
+            }
+        }
+        return snapshot;
+    }
+
+    // Translate an offset in a segment to a physical address, checking the limit and the protection bits
+    public int translate(int segmentNumber, int offset, int access) {
+        Segment segment = check(segmentNumber, offset, access);
+        if (segment.getMark() == 0) {
+            throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+        }
+        int physicalAddress = segment.getAddress() + offset;
+        // The translation is only valid if the segment was not removed meanwhile
+        if (segment.getMark() == 0) {
+            throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+        }
+        return physicalAddress;
+    }
+
+
+    // Get the segment an access goes to after checking the limit and the protection bits; the segment may be swapped out
+    Segment check(int segmentNumber, int offset, int access) {
+        Segment segment = getSegment(segmentNumber);
+        if (segment == null || (segment.getMark() == 0 && !segment.isSwappedOut())) {
+            throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+        }
+        if (offset < 0 || offset >= segment.getLength()) {
+            throw new IllegalArgumentException("Offset vượt quá kích thước đoạn.");
+        }
+        if ((getProtection(segmentNumber) & access) != access) {
+            throw new IllegalArgumentException("Vi phạm quyền truy cập đoạn.");
+        }
+        return segment;
+    }
+
+
+    // Give the segment the next segment number and return it
+    int add(Segment segment, int protection) {
+        int segmentNumber = segmentCount;
+        if (segmentNumber == segments.length) {
+            protections = Arrays.copyOf(protections, segmentNumber * 2);
+            segments = Arrays.copyOf(segments, segmentNumber * 2);
+        }
+        protections[segmentNumber] = protection;
+        segments[segmentNumber] = segment;
+        segmentCount++;
+        return segmentNumber;
+    }
+
+
+    void remove(int segmentNumber) {
+        segments[segmentNumber] = null;
+        protections[segmentNumber] = 0;
+    }
+
+
+    void setProtection(int segmentNumber, int protection) {
+        protections[segmentNumber] = protection;
+    }
+}
@@ -0,0 +1,1221 @@
+package model;
+
+import java.awt.Color;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Segmentation memory manager. Segments may be added, removed and translated from several threads:
+// translations take no lock, while placement needs a consistent view of free memory and holds the allocation lock.
+// Changes made under the allocation lock are published to the MemoryListeners as one event when the lock is released.
+public class Segmentation implements AddressTranslator {
+    // Policy choosing the free hole a new segment is placed in
+    public enum FitPolicy {
+        FIRST_FIT, // Lowest-addressed hole that is large enough
+        BEST_FIT, // Smallest hole that is large enough
+        WORST_FIT, // Largest hole
+        NEXT_FIT, // First hole large enough after the previous placement, wrapping around
+        RANDOM_FIT // Random free address with enough room after it
+    }
+
+    // How compaction relocates segments to merge free holes
+    public enum CompactionMode {
+        FULL, // Slide every segment toward the start of memory, leaving a single hole at the top
+        INCREMENTAL, // Slide segments toward the start of memory in steps that move a bounded number of bytes
+        SLIDING // Slide only the segments between the adjacent holes that make room for a request at the lowest cost
+    }
+
+    // Policy choosing the segment to swap out when a segment does not fit in memory
+    public enum SwapPolicy {
+        LRU, // Segment translated least recently
+        LARGEST_FIRST, // Largest segment, freeing the most memory per swap
+        OLDEST // Segment placed in memory earliest
+    }
+
+    private static final int DEFAULT_COMPACTION_STEP_BYTES = 4096; // Bytes moved per step of automatic incremental compaction
+
+    private final Map<Integer, Segment> segments; // Segments in memory indexed by SID
+    private final Map<String, Segment> segmentsByName; // Segments in memory indexed by lower-case name
+    private final Map<Integer, SegmentTable> processes; // Segment tables of the processes indexed by PID
+    private final Map<String, SegmentTable> processesByName; // Segment tables of the processes indexed by lower-case name
+    private final NavigableMap<Integer, Segment> segmentsByAddress; // Segments in memory indexed by base address
+    private final HoleIndex holes; // Free holes of memory
+    private BuddyAllocator buddy; // Buddy allocator placing the segments, null when holes are used
+    private boolean buddySystem; // Whether memory is managed by the buddy system from the next initialization on
+    private final ReentrantLock allocationLock; // Guards the holes and segment placement
+    private final Random random; // Random source for segment placement
+    private FitPolicy fitPolicy; // Policy choosing the hole for each new segment
+    private int nextFitAddress; // Address where NEXT_FIT resumes its search
+    private CompactionMode autoCompaction; // Compaction run when a segment does not fit although enough memory is free, null when disabled
+    private int compactionStepBytes; // Bytes moved per step of automatic incremental compaction
+    private long compactionCount; // Number of compaction runs since memory was initialized
+    private long compactedBytes; // Bytes relocated by compaction since memory was initialized
+    private long resizeCopiedBytes; // Bytes copied by segments relocated to be resized since memory was initialized
+    private long resizeRelocations; // Number of resizes that relocated their segment since memory was initialized
+    private volatile SwapStore swapStore; // Backing store segments are swapped out to when memory is full, null when disabled
+    private SwapPolicy swapPolicy; // Policy choosing the segment to swap out
+    private final AtomicLong accessClock; // Logical time of placements and, while swapping is enabled, translations
+    private final List<MemoryListener> listeners; // Listeners notified of every change
+    private final MemoryEvent.Builder changes; // Changes made under the allocation lock and not yet published
+    private HeatMap heatMap; // Counters of accesses and swap-ins per block of memory, null when not counted
+    private int swappedOutCount; // Number of segments currently in the swap store
+    private int memorySize; // Size of memory in bytes
+    private int nextSID; // Next segment ID to be assigned
+    private int nextPID; // Next process ID to be assigned
+
+    public Segmentation() {
+        this(new Random());
+    }
+
+    // Create a segmentation manager whose random placement is seeded, so that runs are reproducible
+    public Segmentation(long seed) {
+        this(new Random(seed));
+    }
+
+    private Segmentation(Random random) {
+        this.random = random;
+        this.segments = new ConcurrentHashMap<>();
+        this.segmentsByName = new ConcurrentHashMap<>();
+        this.segmentsByAddress = new ConcurrentSkipListMap<>();
+        this.processes = new ConcurrentHashMap<>();
+        this.processesByName = new ConcurrentHashMap<>();
+        this.holes = new HoleIndex();
+        this.allocationLock = new ReentrantLock();
+        this.fitPolicy = FitPolicy.RANDOM_FIT;
+        this.compactionStepBytes = DEFAULT_COMPACTION_STEP_BYTES;
+        this.swapPolicy = SwapPolicy.LRU;
+        this.accessClock = new AtomicLong();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.changes = new MemoryEvent.Builder(this);
+        this.nextSID = 0;
+    }
+
+    public void addMemoryListener(MemoryListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeMemoryListener(MemoryListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Get the segments in memory ordered by SID, which is their loading order
+    public List<Segment> getSegments() {
+        List<Segment> snapshot = new ArrayList<>(segments.values());
+        snapshot.sort(Comparator.comparingInt(Segment::getSID));
+        return snapshot;
+    }
+
+    // Memory as a read-only list of labels, one per byte, produced on demand from the segment placement
+    public List<String> getMemory() {
+        return new AbstractList<>() {
+            @Override
+            public String get(int address) {
+                return getMemoryLabel(address);
+            }
+
+            @Override
+            public int size() {
+                return memorySize;
+            }
+        };
+    }
+
+    public int getMemorySize() {
+        return memorySize;
+    }
+
+    public FitPolicy getFitPolicy() {
+        return fitPolicy;
+    }
+
+    public void setFitPolicy(FitPolicy fitPolicy) {
+        if (fitPolicy == null) {
+            throw new IllegalArgumentException("Cần chọn chiến lược cấp phát vùng trống.");
+        }
+        allocationLock.lock();
+        try {
+            this.fitPolicy = fitPolicy;
+        } finally {
+            unlock();
+        }
+    }
+
+    public CompactionMode getAutoCompaction() {
+        return autoCompaction;
+    }
+
+    // Compact memory with the given mode whenever a segment does not fit although enough memory is free; null disables it
+    public void setAutoCompaction(CompactionMode autoCompaction) {
+        allocationLock.lock();
+        try {
+            this.autoCompaction = autoCompaction;
+        } finally {
+            unlock();
+        }
+    }
+
+    public int getCompactionStepBytes() {
+        return compactionStepBytes;
+    }
+
+    // Set the bytes moved per step when automatic compaction is incremental
+    public void setCompactionStepBytes(int compactionStepBytes) {
+        if (compactionStepBytes <= 0) {
+            throw new IllegalArgumentException("Số byte mỗi bước dồn bộ nhớ phải lớn hơn 0.");
+        }
+        this.compactionStepBytes = compactionStepBytes;
+    }
+
+    public long getCompactionCount() {
+        return compactionCount;
+    }
+
+    public long getCompactedBytes() {
+        return compactedBytes;
+    }
+
+    public long getResizeCopiedBytes() {
+        return resizeCopiedBytes;
+    }
+
+    public long getResizeRelocations() {
+        return resizeRelocations;
+    }
+
+    public SwapStore getSwapStore() {
+        return swapStore;
+    }
+
+    // Swap whole segments out to the given store when a segment does not fit in memory, or stop swapping with null.
+    // Swapping can only be stopped or moved to another store while no segment is swapped out.
+    public void setSwapStore(SwapStore swapStore) {
+        allocationLock.lock();
+        try {
+            if (swappedOutCount > 0) {
+                throw new IllegalArgumentException("Không thể đổi vùng hoán đổi khi còn đoạn bị hoán đổi ra.");
+            }
+            this.swapStore = swapStore;
+        } finally {
+            unlock();
+        }
+    }
+
+    public SwapPolicy getSwapPolicy() {
+        return swapPolicy;
+    }
+
+    public void setSwapPolicy(SwapPolicy swapPolicy) {
+        if (swapPolicy == null) {
+            throw new IllegalArgumentException("Cần chọn chiến lược hoán đổi đoạn.");
+        }
+        allocationLock.lock();
+        try {
+            this.swapPolicy = swapPolicy;
+        } finally {
+            unlock();
+        }
+    }
+
+    // Number of segments currently swapped out
+    public int getSwappedOutCount() {
+        return swappedOutCount;
+    }
+
+    public HeatMap getHeatMap() {
+        return heatMap;
+    }
+
+    // Count the translations, and the swap-ins as faults, per block of physical memory into the given heat map,
+    // or stop counting with null
+    public void setHeatMap(HeatMap heatMap) {
+        this.heatMap = heatMap;
+    }
+
+    public boolean isBuddySystem() {
+        return buddySystem;
+    }
+
+    // Place segments with a binary buddy allocator instead of the fit policy, from the next memory initialization on
+    public void setBuddySystem(boolean buddySystem) {
+        this.buddySystem = buddySystem;
+    }
+
+    // Total size of the free holes, or of the free blocks in the buddy system
+    public long getFreeSize() {
+        allocationLock.lock();
+        try {
+            return buddy != null ? buddy.getFreeSize() : holes.getFreeSize();
+        } finally {
+            unlock();
+        }
+    }
+
+    // Number of free holes, or of free blocks in the buddy system
+    public int getHoleCount() {
+        allocationLock.lock();
+        try {
+            return buddy != null ? buddy.getFreeBlockCount() : holes.getHoleCount();
+        } finally {
+            unlock();
+        }
+    }
+
+    // Size of the largest segment that can currently be placed
+    public int getLargestHole() {
+        allocationLock.lock();
+        try {
+            return buddy != null ? buddy.getLargestFreeBlock() : holes.getLargestHole();
+        } finally {
+            unlock();
+        }
+    }
+
+    // Bytes of the buddy blocks left unused past the end of their segments, 0 outside the buddy system
+    public long getInternalFragmentation() {
+        allocationLock.lock();
+        try {
+            return buddy != null ? buddy.getInternalFragmentation() : 0;
+        } finally {
+            unlock();
+        }
+    }
+
+    // Snapshot of the fragmentation metrics, read from the hole index or the buddy free lists without scanning memory
+    public MemoryMetrics getMetrics() {
+        allocationLock.lock();
+        try {
+            if (buddy != null) {
+                return new MemoryMetrics(memorySize, buddy.getFreeSize(), buddy.getFreeBlockCount(),
+                        buddy.getLargestFreeBlock(), buddy.getInternalFragmentation());
+            }
+            return new MemoryMetrics(memorySize, holes.getFreeSize(), holes.getHoleCount(), holes.getLargestHole(), 0);
+        } finally {
+            unlock();
+        }
+    }
+
+    // Build the label of a memory address from the segment placed over it
+    public String getMemoryLabel(int address) {
+        if (address < 0 || address >= memorySize) {
+            throw new IndexOutOfBoundsException("Địa chỉ " + address + " nằm ngoài bộ nhớ.");
+        }
+        Segment segment = findSegmentAt(address);
+        if (segment == null) {
+            return "Tự do";
+        }
+        int offset = address - segment.getAddress();
+        if (segment.getSID() < 0) {
+            return "OS";
+        }
+        if (offset >= segment.getLength()) {
+            // The rest of a buddy block belongs to its segment even though it is unused
+            return "Đoạn " + segment.getSID() + " (" + segment.getName() + ") - Dư";
+        }
+        return "Đoạn " + segment.getSID() + " (" + segment.getName() + ") - " + offset;
+    }
+
+    // Get the segment whose memory holds an address, or null if the address is free
+    public Segment findSegmentAt(int address) {
+        Map.Entry<Integer, Segment> entry = segmentsByAddress.floorEntry(address);
+        if (entry == null) {
+            return null;
+        }
+        Segment segment = entry.getValue();
+        return address - segment.getAddress() < getAllocatedSize(segment) ? segment : null;
+    }
+
+    // Lowest address at or after the given one where a segment starts, or the memory size if there is none
+    public int nextSegmentAddress(int address) {
+        Integer next = segmentsByAddress.ceilingKey(address);
+        return next == null ? memorySize : next;
+    }
+
+    // Memory taken by a segment: its length, or its whole block in the buddy system
+    public int getAllocatedSize(Segment segment) {
+        return buddy != null && segment.getSID() >= 0 ? BuddyAllocator.blockSize(segment.getLength()) : segment.getLength();
+    }
+
+
+    // Add a segment to memory and return it
+    public Segment addSegment(String name, int size, Color color) {
+        // Validate input
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Cần thêm tên đoạn.");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Kích thước đoạn phải lớn hơn 0.");
+        }
+        allocationLock.lock();
+        try {
+            if (isSegmentNameExists(name)) {
+                throw new IllegalArgumentException("Đoạn đã tồn tại trong bộ nhớ.");
+            }
+
+            // Choose a start address for the segment with the buddy system or the fit policy
+            int startAddress = allocateRange(size);
+            if (startAddress == -1) {
+                throw new IllegalArgumentException("Không đủ vùng trống tự do để nạp đoạn này.");
+            }
+
+            // Create segment and allocate memory
+            Segment newSegment = new Segment(nextSID++, name, startAddress, size, color);
+            if (buddy == null) {
+                holes.allocate(startAddress, size);
+                nextFitAddress = startAddress + size;
+            }
+
+            // Mark the segment as used and publish it to the indexes
+            newSegment.setLoadTime(accessClock.incrementAndGet());
+            newSegment.setMark(1);
+            addToIndexes(newSegment);
+            recordChange(newSegment);
+            return newSegment;
+        } finally {
+            unlock();
+        }
+    }
+
+    // Remove a segment, dropping its creator's reference; a segment shared with other processes stays in memory
+    // until the last of them unmaps it
+    public void removeSegment(int sid) {
+        allocationLock.lock();
+        try {
+            Segment s = segments.get(sid);
+            if (s != null && !s.isReleased()) {
+                if (s.getProcess() != null) {
+                    s.getProcess().remove(s.getSegmentNumber());
+                }
+                s.setReleased();
+                release(s);
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+    // Map a segment into the segment table of a process with its own protection bits and return its segment number.
+    // The segment stays in memory until it is removed and unmapped from every process it is shared with.
+    public int shareSegment(int pid, int sid, int protection) {
+        allocationLock.lock();
+        try {
+            SegmentTable process = findProcessByPID(pid);
+            if (process == null) {
+                throw new IllegalArgumentException("Tiến trình không có trong bộ nhớ.");
+            }
+            Segment segment = segments.get(sid);
+            if (segment == null || segment.getSID() < 0) {
+                throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+            }
+            segment.retain();
+            recordEntry(sid);
+            return process.add(segment, protection);
+        } finally {
+            unlock();
+        }
+    }
+
+    // Remove a segment from the segment table of a process, freeing it if that was its last reference
+    public void unmapSegment(int pid, int segmentNumber) {
+        allocationLock.lock();
+        try {
+            SegmentTable process = findProcessByPID(pid);
+            Segment segment = process == null ? null : process.getSegment(segmentNumber);
+            if (segment == null) {
+                throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+            }
+            unmap(process, segmentNumber, segment);
+        } finally {
+            unlock();
+        }
+    }
+
+    // Change the size of a segment and return the number of bytes copied. A segment shrinks in place and grows in place
+    // when the hole right after it is large enough; otherwise it is moved, with its contents, to a hole chosen by the
+    // fit policy (compacting memory first if automatic compaction is enabled). The segment is unchanged if it cannot grow.
+    public int resizeSegment(int sid, int newSize) {
+        if (newSize <= 0) {
+            throw new IllegalArgumentException("Kích thước đoạn phải lớn hơn 0.");
+        }
+        allocationLock.lock();
+        try {
+            Segment segment = segments.get(sid);
+            if (segment == null) {
+                throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+            }
+            if (segment.getSID() < 0) {
+                throw new IllegalArgumentException("Không thể thay đổi kích thước đoạn hệ điều hành.");
+            }
+            if (segment.isSwappedOut()) {
+                swapIn(segment);
+            }
+            // Both modes relocate a segment that cannot grow in place, swapping others out to make room if needed
+            recordChange(segment); // The old range, in case the segment moves
+            int copied = buddy != null ? resizeBuddySegment(segment, newSize) : resizeHoleSegment(segment, newSize);
+            recordChange(segment);
+            return copied;
+        } finally {
+            unlock();
+        }
+    }
+
+    // Resize a segment placed in the holes and return the number of bytes copied
+    private int resizeHoleSegment(Segment segment, int newSize) {
+        int address = segment.getAddress();
+        int length = segment.getLength();
+        if (newSize <= length) {
+            // Shrink in place, returning the tail to free memory
+            segment.setLength(newSize);
+            holes.free(address + newSize, length - newSize);
+            return 0;
+        }
+        int end = address + length;
+        if (holes.holeLength(end) >= newSize - length) {
+            // Grow in place into the hole right after the segment
+            holes.allocate(end, newSize - length);
+            segment.setLength(newSize);
+            return 0;
+        }
+
+        // Relocate: release the segment's own range first so that it can merge with the holes around it
+        holes.free(address, length);
+        segmentsByAddress.remove(address, segment);
+        int startAddress = allocateRange(newSize);
+        if (startAddress == -1) {
+            // Nothing was compacted, so the old range is still free
+            holes.allocate(address, length);
+            segmentsByAddress.put(address, segment);
+            throw new IllegalArgumentException("Không đủ vùng trống tự do để mở rộng đoạn này.");
+        }
+        holes.allocate(startAddress, newSize);
+        nextFitAddress = startAddress + newSize;
+        // Concurrent translations never combine the new length with the old address
+        segment.setAddress(startAddress);
+        segment.setLength(newSize);
+        segmentsByAddress.put(startAddress, segment);
+        resizeRelocations++;
+        resizeCopiedBytes += length;
+        return length;
+    }
+
+    // Initialize memory and OS segment
+    public void initializeMemory(int memorySize, int osSize) {
+        if (osSize < 0 || osSize > memorySize) {
+            throw new IllegalArgumentException("Không đủ bộ nhớ để nạp hệ điều hành.");
+        }
+        allocationLock.lock();
+        try {
+            // Reset memory
+            segments.clear();
+            segmentsByName.clear();
+            segmentsByAddress.clear();
+            processes.clear();
+            processesByName.clear();
+            holes.clear();
+            nextSID = 0;
+            nextPID = 0;
+            nextFitAddress = 0;
+            compactionCount = 0;
+            compactedBytes = 0;
+            resizeCopiedBytes = 0;
+            resizeRelocations = 0;
+            swappedOutCount = 0;
+            if (swapStore != null) {
+                swapStore.clear();
+            }
+
+            // Initialize memory as a single free hole, or as buddy blocks after the OS
+            this.memorySize = memorySize;
+            holes.free(0, memorySize);
+            buddy = buddySystem && memorySize > 0 ? new BuddyAllocator(memorySize, osSize) : null;
+
+            // Create OS segment and allocate memory
+            Segment osSegment = new Segment(-1, "OS", 0, osSize, Color.LIGHT_GRAY); // ID = -1 so that user's segment ID starts from 0
+            if (osSize > 0) {
+                holes.allocate(0, osSize);
+            }
+
+            // Mark the OS segment as used and add it to the indexes
+            osSegment.setLoadTime(accessClock.incrementAndGet());
+            osSegment.setMark(1);
+            addToIndexes(osSegment);
+            if (!listeners.isEmpty()) {
+                changes.reset();
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+
+    // Create a process with an empty segment table
+    public SegmentTable createProcess(String name, Color color) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Cần thêm tên tiến trình.");
+        }
+        allocationLock.lock();
+        try {
+            if (processesByName.containsKey(nameKey(name))) {
+                throw new IllegalArgumentException("Tiến trình đã tồn tại trong bộ nhớ.");
+            }
+            SegmentTable process = new SegmentTable(nextPID++, name, color);
+            processesByName.put(nameKey(name), process);
+            processes.put(process.getPID(), process);
+            return process;
+        } finally {
+            unlock();
+        }
+    }
+
+
+    // Create a process with code (read/execute), data, heap and stack (read/write) segments numbered 0 to 3
+    public SegmentTable loadProcess(String name, int codeSize, int dataSize, int heapSize, int stackSize, Color color) {
+        allocationLock.lock();
+        try {
+            SegmentTable process = createProcess(name, color);
+            try {
+                addProcessSegment(process.getPID(), "code", codeSize, SegmentTable.READ | SegmentTable.EXECUTE);
+                addProcessSegment(process.getPID(), "data", dataSize, SegmentTable.READ | SegmentTable.WRITE);
+                addProcessSegment(process.getPID(), "heap", heapSize, SegmentTable.READ | SegmentTable.WRITE);
+                addProcessSegment(process.getPID(), "stack", stackSize, SegmentTable.READ | SegmentTable.WRITE);
+            } catch (IllegalArgumentException e) {
+                // Do not leave a partly loaded process behind
+                removeProcess(process.getPID());
+                throw e;
+            }
+            return process;
+        } finally {
+            unlock();
+        }
+    }
+
+
+    // Place a new segment for a process and return its segment number; the segment is named "process/name"
+    public int addProcessSegment(int pid, String name, int size, int protection) {
+        allocationLock.lock();
+        try {
+            SegmentTable process = findProcessByPID(pid);
+            if (process == null) {
+                throw new IllegalArgumentException("Tiến trình không có trong bộ nhớ.");
+            }
+            Segment segment = addSegment(process.getName() + "/" + name, size, process.getColor());
+            int segmentNumber = process.add(segment, protection);
+            segment.setProcess(process, segmentNumber);
+            return segmentNumber;
+        } finally {
+            unlock();
+        }
+    }
+
+
+    // Remove a process and free all its segments
+    public void removeProcess(int pid) {
+        allocationLock.lock();
+        try {
+            SegmentTable process = processes.remove(pid);
+            if (process != null) {
+                processesByName.remove(nameKey(process.getName()));
+                for (int segmentNumber = 0; segmentNumber < process.getSegmentCount(); segmentNumber++) {
+                    Segment segment = process.getSegment(segmentNumber);
+                    if (segment != null) {
+                        unmap(process, segmentNumber, segment);
+                    }
+                }
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+
+    public void setSegmentProtection(int pid, int segmentNumber, int protection) {
+        allocationLock.lock();
+        try {
+            SegmentTable process = findProcessByPID(pid);
+            if (process == null || process.getSegment(segmentNumber) == null) {
+                throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+            }
+            process.setProtection(segmentNumber, protection);
+            recordEntry(process.getSegment(segmentNumber).getSID());
+        } finally {
+            unlock();
+        }
+    }
+
+
+    public SegmentTable findProcessByPID(int pid) {
+        return processes.get(pid);
+    }
+
+
+    // Get the processes ordered by PID
+    public List<SegmentTable> getProcesses() {
+        List<SegmentTable> snapshot = new ArrayList<>(processes.values());
+        snapshot.sort(Comparator.comparingInt(SegmentTable::getPID));
+        return snapshot;
+    }
+
+
+    // Slide every segment toward the start of memory so that the free memory becomes a single hole at the top
+    public CompactionResult compact() {
+        return compactStep(Long.MAX_VALUE);
+    }
+
+
+    // Slide segments toward the start of memory, starting at the lowest hole, moving at most maxBytes bytes
+    // (or one segment when it is larger); repeated steps end in the same layout as compact()
+    public CompactionResult compactStep(long maxBytes) {
+        allocationLock.lock();
+        try {
+            requireHoles();
+            int holesBefore = holes.getHoleCount();
+            int largestHoleBefore = holes.getLargestHole();
+            long moved = 0;
+            int segmentsMoved = 0;
+            int target = holes.holeAfter(0);
+            if (target != -1) {
+                Map.Entry<Integer, Segment> entry;
+                while ((entry = segmentsByAddress.ceilingEntry(target)) != null) {
+                    Segment segment = entry.getValue();
+                    if (segmentsMoved > 0 && moved + segment.getLength() > maxBytes) {
+                        break;
+                    }
+                    relocate(segment, target);
+                    moved += segment.getLength();
+                    segmentsMoved++;
+                    target += segment.getLength();
+                }
+            }
+            return finishCompaction(moved, segmentsMoved, holesBefore, largestHoleBefore);
+        } finally {
+            unlock();
+        }
+    }
+
+
+    // Make a hole of at least the given size by sliding the segments that lie between the run of adjacent holes
+    // whose sizes add up to it with the fewest segment bytes in between
+    public CompactionResult compactFor(int size) {
+        allocationLock.lock();
+        try {
+            requireHoles();
+            int holesBefore = holes.getHoleCount();
+            int largestHoleBefore = holes.getLargestHole();
+            if (largestHoleBefore >= size || holes.getFreeSize() < size) {
+                return finishCompaction(0, 0, holesBefore, largestHoleBefore);
+            }
+
+            // Holes in address order
+            int[] starts = new int[holesBefore];
+            int[] lengths = new int[holesBefore];
+            for (int i = 0, address = 0; i < holesBefore; i++) {
+                starts[i] = holes.holeAfter(address);
+                lengths[i] = holes.holeLength(starts[i]);
+                address = starts[i] + lengths[i];
+            }
+
+            // For each last hole, the closest first hole that still gives enough room is the cheapest,
+            // and it never moves backward as the last hole advances
+            int bestFirst = -1;
+            int bestLast = -1;
+            long bestCost = Long.MAX_VALUE;
+            long free = 0;
+            for (int first = 0, last = 0; last < holesBefore; last++) {
+                free += lengths[last];
+                while (free - lengths[first] >= size) {
+                    free -= lengths[first++];
+                }
+                if (free >= size) {
+                    long cost = (long) starts[last] + lengths[last] - starts[first] - free;
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestFirst = first;
+                        bestLast = last;
+                    }
+                }
+            }
+
+            // Slide the segments of the window down onto its first hole
+            long moved = 0;
+            int segmentsMoved = 0;
+            int target = starts[bestFirst];
+            int end = starts[bestLast] + lengths[bestLast];
+            Map.Entry<Integer, Segment> entry;
+            while ((entry = segmentsByAddress.ceilingEntry(target)) != null && entry.getKey() < end) {
+                Segment segment = entry.getValue();
+                relocate(segment, target);
+                moved += segment.getLength();
+                segmentsMoved++;
+                target += segment.getLength();
+            }
+            return finishCompaction(moved, segmentsMoved, holesBefore, largestHoleBefore);
+        } finally {
+            unlock();
+        }
+    }
+
+
+    // Find a segment by its ID
+    public Segment findSegmentBySID(int sid) {
+        return segments.get(sid);
+    }
+
+
+    // Check if a segment name already exists
+    private boolean isSegmentNameExists(String name) {
+        return segmentsByName.containsKey(nameKey(name));
+    }
+
+
+    private void addToIndexes(Segment segment) {
+        segmentsByName.put(nameKey(segment.getName()), segment);
+        segments.put(segment.getSID(), segment);
+        if (segment.getLength() > 0) {
+            segmentsByAddress.put(segment.getAddress(), segment);
+        }
+    }
+
+
+    // Key of a segment name in the case-insensitive name index
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+
+    // Resize a segment placed by the buddy system and return the number of bytes copied
+    private int resizeBuddySegment(Segment segment, int newSize) {
+        int address = segment.getAddress();
+        int length = segment.getLength();
+        int newAddress = buddy.resize(address, length, newSize);
+        if (newAddress == -1) {
+            // Relocate like an allocation, swapping other segments out when that is enabled; release the segment's
+            // own block first so that it can merge with its buddies
+            buddy.free(address, length);
+            segmentsByAddress.remove(address, segment);
+            newAddress = allocateRange(newSize);
+            if (newAddress == -1) {
+                // Swapping only frees memory, so the old block is still free
+                buddy.allocateAt(address, length);
+                segmentsByAddress.put(address, segment);
+                throw new IllegalArgumentException("Không đủ vùng trống tự do để mở rộng đoạn này.");
+            }
+            if (newAddress == address) {
+                // The freed block merged into one large enough to grow in place
+                segment.setLength(newSize);
+                segmentsByAddress.put(address, segment);
+                return 0;
+            }
+        }
+        if (newAddress == address) {
+            segment.setLength(newSize);
+            return 0;
+        }
+        segmentsByAddress.remove(address, segment);
+        // Concurrent translations never combine the new length with the old address
+        segment.setAddress(newAddress);
+        segment.setLength(newSize);
+        segmentsByAddress.put(newAddress, segment);
+        resizeRelocations++;
+        resizeCopiedBytes += length;
+        return length;
+    }
+
+
+    // Find room for a segment of the given size with the buddy system or the fit policy, compacting memory and then
+    // swapping segments out when those are enabled, and return its address or -1 if there is none. The buddy
+    // allocator hands out the block itself; with holes the caller allocates the range.
+    private int allocateRange(int size) {
+        List<Segment> victims = null; // Segments to swap out, planned when swapping is first needed
+        int swapped = 0; // Planned victims swapped out so far
+        while (true) {
+            int startAddress = buddy != null ? buddy.allocate(size) : findStartAddress(size);
+            if (startAddress == -1 && buddy == null && autoCompaction != null && holes.getFreeSize() >= size) {
+                // The free memory is spread over holes that are too small: merge them and try again
+                compactForAllocation(size);
+                startAddress = findStartAddress(size);
+            }
+            if (startAddress != -1 || swapStore == null) {
+                return startAddress;
+            }
+            if (victims == null) {
+                // Plan every victim before swapping any, so that a segment that cannot fit leaves memory as it was
+                victims = planVictims(size);
+                if (victims == null) {
+                    return -1;
+                }
+            }
+            // Make room by swapping the next planned segment out, unless the swap store is full
+            if (swapped == victims.size() || !swapOut(victims.get(swapped++))) {
+                return -1;
+            }
+        }
+    }
+
+
+    // Choose the segments to swap out, in swap policy order, until a segment of the given size would fit in the
+    // memory they leave, or return null if it would not fit even with every segment swapped out
+    private List<Segment> planVictims(int size) {
+        List<Segment> victims = new ArrayList<>();
+        Set<Segment> excluded = new HashSet<>();
+        while (true) {
+            Segment victim = selectVictim(excluded);
+            if (victim == null) {
+                return null;
+            }
+            victims.add(victim);
+            excluded.add(victim);
+            if (fitsWithout(size, excluded)) {
+                return victims;
+            }
+        }
+    }
+
+
+    // Whether a segment of the given size would fit if the excluded segments were swapped out: some gap between the
+    // remaining segments must hold it (an aligned block of its size with the buddy system), or with automatic
+    // compaction the gaps together must
+    private boolean fitsWithout(int size, Set<Segment> excluded) {
+        long blockSize = buddy != null ? BuddyAllocator.blockSize(size) : size;
+        long freeSize = 0;
+        long gapStart = 0;
+        for (Segment segment : segmentsByAddress.values()) {
+            if (excluded.contains(segment)) {
+                continue;
+            }
+            if (fitsInGap(blockSize, gapStart, segment.getAddress())) {
+                return true;
+            }
+            freeSize += segment.getAddress() - gapStart;
+            gapStart = segment.getAddress() + getAllocatedSize(segment);
+        }
+        if (fitsInGap(blockSize, gapStart, memorySize)) {
+            return true;
+        }
+        freeSize += memorySize - gapStart;
+        return buddy == null && autoCompaction != null && freeSize >= size;
+    }
+
+
+    // Whether the free range [start, end) holds a block of the given size, aligned to it with the buddy system
+    private boolean fitsInGap(long blockSize, long start, long end) {
+        if (buddy != null) {
+            start = (start + blockSize - 1) / blockSize * blockSize;
+        }
+        return start + blockSize <= end;
+    }
+
+
+    // Choose the resident segment to swap out with the swap policy, skipping the excluded ones, or null if there is
+    // none
+    private Segment selectVictim(Set<Segment> excluded) {
+        Segment victim = null;
+        for (Segment segment : segmentsByAddress.values()) {
+            if (segment.getSID() < 0 || excluded.contains(segment)) {
+                continue;
+            }
+            if (victim == null) {
+                victim = segment;
+                continue;
+            }
+            switch (swapPolicy) {
+                case LRU:
+                    if (segment.getLastAccess() < victim.getLastAccess()) {
+                        victim = segment;
+                    }
+                    break;
+                case LARGEST_FIRST:
+                    if (segment.getLength() > victim.getLength()) {
+                        victim = segment;
+                    }
+                    break;
+                default:
+                    if (segment.getLoadTime() < victim.getLoadTime()) {
+                        victim = segment;
+                    }
+                    break;
+            }
+        }
+        return victim;
+    }
+
+
+    // Write a resident segment to the swap store and release its memory; false if the store has no room for it
+    private boolean swapOut(Segment segment) {
+        int slot = swapStore.write(segment.getLength());
+        if (slot == -1) {
+            return false;
+        }
+        recordChange(segment);
+        segmentsByAddress.remove(segment.getAddress(), segment);
+        segment.setSwapSlot(slot);
+        // Concurrent translations check the mark after computing the address and bring the segment back in
+        segment.setMark(0);
+        if (buddy != null) {
+            buddy.free(segment.getAddress(), segment.getLength());
+        } else {
+            holes.free(segment.getAddress(), segment.getLength());
+        }
+        swappedOutCount++;
+        return true;
+    }
+
+
+    // Bring a swapped-out segment back into memory, swapping others out if needed. Returns false if the segment was
+    // removed; fails if there is no room for it even after swapping.
+    private boolean swapIn(Segment segment) {
+        allocationLock.lock();
+        try {
+            if (segment.getMark() != 0) {
+                return true; // Brought back by another translation
+            }
+            if (!segment.isSwappedOut() || segments.get(segment.getSID()) != segment) {
+                return false;
+            }
+            int length = segment.getLength();
+            int startAddress = allocateRange(length);
+            if (startAddress == -1) {
+                throw new IllegalArgumentException("Không đủ vùng trống tự do để nạp lại đoạn này.");
+            }
+            if (buddy == null) {
+                holes.allocate(startAddress, length);
+                nextFitAddress = startAddress + length;
+            }
+            swapStore.read(segment.getSwapSlot(), length);
+            segment.setSwapSlot(-1);
+            swappedOutCount--;
+            segment.setAddress(startAddress);
+            segment.setLoadTime(accessClock.incrementAndGet());
+            segmentsByAddress.put(startAddress, segment);
+            segment.setMark(1);
+            recordChange(segment);
+            HeatMap heat = heatMap;
+            if (heat != null) {
+                heat.recordFault(startAddress, (long) startAddress + length);
+            }
+            return true;
+        } finally {
+            unlock();
+        }
+    }
+
+
+    // Get the physical address of an offset in a segment, bringing the segment back in if it is swapped out
+    private int resolve(Segment segment, int offset) {
+        while (true) {
+            long loadTime = segment.getLoadTime();
+            if (segment.getMark() != 0) {
+                int physicalAddress = segment.getAddress() + offset;
+                // The translation is only valid if the segment was not removed, or swapped out and back in, meanwhile
+                if (segment.getMark() != 0 && segment.getLoadTime() == loadTime) {
+                    if (swapStore != null) {
+                        segment.touch(accessClock.incrementAndGet());
+                    }
+                    HeatMap heat = heatMap;
+                    if (heat != null) {
+                        heat.recordAccess(physicalAddress);
+                    }
+                    return physicalAddress;
+                }
+            }
+            if (!swapIn(segment)) {
+                throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+            }
+        }
+    }
+
+
+    // Remove a segment from a segment table and drop the reference of that mapping
+    private void unmap(SegmentTable process, int segmentNumber, Segment segment) {
+        process.remove(segmentNumber);
+        if (segment.getProcess() == process && segment.getSegmentNumber() == segmentNumber) {
+            segment.setReleased(); // The creator's own mapping
+        }
+        release(segment);
+    }
+
+
+    // Drop a reference to a segment and free its memory, or its swap slot, with the last one
+    private void release(Segment s) {
+        if (s.release() > 0) {
+            recordEntry(s.getSID());
+            return;
+        }
+        recordChange(s);
+        segments.remove(s.getSID());
+        segmentsByName.remove(nameKey(s.getName()));
+        if (s.isSwappedOut()) {
+            // The segment holds no memory, only its slot in the swap store
+            swapStore.discard(s.getSwapSlot(), s.getLength());
+            s.setSwapSlot(-1);
+            swappedOutCount--;
+            return;
+        }
+        segmentsByAddress.remove(s.getAddress(), s);
+        // Concurrent translations check the mark after computing the address
+        s.setMark(0);
+        // Return the segment to free memory, merging it with neighboring holes or buddies
+        if (buddy != null && s.getSID() >= 0) {
+            buddy.free(s.getAddress(), s.getLength());
+        } else {
+            holes.free(s.getAddress(), s.getLength());
+        }
+    }
+
+
+    // Run the automatic compaction mode until a hole of the given size exists
+    private void compactForAllocation(int size) {
+        switch (autoCompaction) {
+            case FULL:
+                compact();
+                break;
+            case INCREMENTAL:
+                CompactionResult result;
+                do {
+                    result = compactStep(compactionStepBytes);
+                } while (result.getLargestHoleAfter() < size && !result.isComplete());
+                break;
+            default:
+                compactFor(size);
+                break;
+        }
+    }
+
+
+    // Move a segment into free memory, which may overlap its current place
+    private void relocate(Segment segment, int address) {
+        recordChange(segment);
+        int oldAddress = segment.getAddress();
+        holes.free(oldAddress, segment.getLength());
+        holes.allocate(address, segment.getLength());
+        segmentsByAddress.remove(oldAddress, segment);
+        segment.setAddress(address);
+        segmentsByAddress.put(address, segment);
+        recordChange(segment);
+    }
+
+
+    // Record a change to the table entry of a segment and to the memory it currently takes, if any, holding the
+    // allocation lock
+    private void recordChange(Segment segment) {
+        if (!listeners.isEmpty()) {
+            changes.addEntry(segment.getSID());
+            if (!segment.isSwappedOut()) {
+                changes.addRange(segment.getAddress(), segment.getAddress() + getAllocatedSize(segment));
+            }
+        }
+    }
+
+
+    // Record a change to the table entry of a segment alone, holding the allocation lock
+    private void recordEntry(int sid) {
+        if (!listeners.isEmpty()) {
+            changes.addEntry(sid);
+        }
+    }
+
+
+    // Release the allocation lock and, when the outermost operation holding it ends, publish its changes
+    private void unlock() {
+        MemoryEvent event = allocationLock.getHoldCount() == 1 && !changes.isEmpty() ? changes.build() : null;
+        allocationLock.unlock();
+        if (event != null) {
+            for (MemoryListener listener : listeners) {
+                listener.memoryChanged(event);
+            }
+        }
+    }
+
+
+    private void requireHoles() {
+        if (buddy != null) {
+            throw new IllegalArgumentException("Không thể dồn bộ nhớ khi dùng hệ thống buddy.");
+        }
+    }
+
+
+    private CompactionResult finishCompaction(long moved, int segmentsMoved, int holesBefore, int largestHoleBefore) {
+        compactionCount++;
+        compactedBytes += moved;
+        int holesAfter = holes.getHoleCount();
+        int lowestHole = holes.holeAfter(0);
+        boolean complete = holesAfter == 0 || (holesAfter == 1 && lowestHole + holes.holeLength(lowestHole) == memorySize);
+        return new CompactionResult(moved, segmentsMoved, holesBefore, holesAfter, largestHoleBefore,
+                holes.getLargestHole(), holes.getFreeSize(), complete);
+    }
+
+
+    // Find the start address of a free range of the given size with the fit policy, or -1 if no hole is large enough
+    private int findStartAddress(int segmentSize) {
+        switch (fitPolicy) {
+            case FIRST_FIT:
+                return holes.firstFit(segmentSize);
+            case BEST_FIT:
+                return holes.bestFit(segmentSize);
+            case WORST_FIT:
+                return holes.worstFit(segmentSize);
+            case NEXT_FIT:
+                return holes.nextFit(nextFitAddress < memorySize ? nextFitAddress : 0, segmentSize);
+            default:
+                return findRandomStartAddress(segmentSize);
+        }
+    }
+
+
+    // Pick a random address; if the segment does not fit there, take the next hole large enough
+    // and a random start address inside it
+    private int findRandomStartAddress(int segmentSize) {
+        if (holes.getLargestHole() < segmentSize) {
+            return -1;
+        }
+        int address = random.nextInt(memorySize);
+        int hole = holes.holeAt(address);
+        if (hole != -1 && (long) address + segmentSize <= (long) hole + holes.holeLength(hole)) {
+            return address;
+        }
+        hole = holes.nextFit(address, segmentSize);
+        return hole + random.nextInt(holes.holeLength(hole) - segmentSize + 1);
+    }
+
+
+    // Translate a logical address to a physical address, swapping the segment back in if it is swapped out
+    public int translateAddress(int segmentID, int offset) {
+        Segment segment = segments.get(segmentID);
+        if (segment == null || (segment.getMark() == 0 && !segment.isSwappedOut())) {
+            throw new IllegalArgumentException("Đoạn không có trong bộ nhớ.");
+        }
+        if (offset < 0 || offset >= segment.getLength()) {
+            throw new IllegalArgumentException("Offset vượt quá kích thước đoạn.");
+        }
+        return resolve(segment, offset);
+    }
+
+
+    // Translate (process, segment number, offset) to a physical address, checking the access against the protection bits
+    public int translateAddress(int pid, int segmentNumber, int offset, int access) {
+        SegmentTable process = processes.get(pid);
+        if (process == null) {
+            throw new IllegalArgumentException("Tiến trình không có trong bộ nhớ.");
+        }
+        return resolve(process.check(segmentNumber, offset, access), offset);
+    }
+
+
+    @Override
+    public long translate(int id, long logicalAddress, boolean write) {
+        if (logicalAddress < 0 || logicalAddress > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Offset vượt quá kích thước đoạn.");
+        }
+        return translateAddress(id, (int) logicalAddress);
+    }
+}
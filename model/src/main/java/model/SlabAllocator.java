@@ -0,0 +1,90 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Kernel object allocator made of named slab caches drawing frames from a paging manager.
+// The caches must be discarded when the paging memory is initialized again.
+public class SlabAllocator {
+    private static final int DEFAULT_MAGAZINE_SIZE = 32; // Objects cached per CPU when no magazine size is given
+
+    private final Paging paging; // Source of the frames
+    private final int cpuCount; // Number of CPUs, each with its own magazine in every cache
+    private final Map<String, SlabCache> caches; // Caches indexed by lower-case name
+
+    public SlabAllocator(Paging paging, int cpuCount) {
+        if (cpuCount <= 0) {
+            throw new IllegalArgumentException("Số CPU phải lớn hơn 0.");
+        }
+        this.paging = paging;
+        this.cpuCount = cpuCount;
+        this.caches = new ConcurrentHashMap<>();
+    }
+
+    public int getCPUCount() {
+        return cpuCount;
+    }
+
+    public SlabCache createCache(String name, int objectSize) {
+        return createCache(name, objectSize, DEFAULT_MAGAZINE_SIZE);
+    }
+
+    // Create a cache of objects of the given size whose CPU magazines hold magazineSize objects
+    public SlabCache createCache(String name, int objectSize, int magazineSize) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Cần thêm tên bộ đệm slab.");
+        }
+        SlabCache cache = new SlabCache(this, paging, name, objectSize, cpuCount, magazineSize);
+        if (caches.putIfAbsent(nameKey(name), cache) != null) {
+            throw new IllegalArgumentException("Bộ đệm slab đã tồn tại.");
+        }
+        return cache;
+    }
+
+    // Find a cache by name, ignoring case, or return null
+    public SlabCache findCache(String name) {
+        return caches.get(nameKey(name));
+    }
+
+    // Remove a cache whose objects have all been freed and return its frames to paging
+    public void destroyCache(String name) {
+        SlabCache cache = findCache(name);
+        if (cache == null) {
+            throw new IllegalArgumentException("Không tìm thấy bộ đệm slab có tên: " + name);
+        }
+        if (cache.getObjectsInUse() > 0) {
+            throw new IllegalArgumentException("Bộ đệm slab " + name + " vẫn còn đối tượng đang được sử dụng.");
+        }
+        caches.remove(nameKey(name), cache);
+        for (int cpu = 0; cpu < cpuCount; cpu++) {
+            cache.flushMagazine(cpu);
+        }
+        cache.reclaim();
+    }
+
+    // Get the caches ordered by name
+    public List<SlabCache> getCaches() {
+        List<SlabCache> snapshot = new ArrayList<>(caches.values());
+        snapshot.sort(Comparator.comparing(SlabCache::getName));
+        return snapshot;
+    }
+
+    // Return the frames of the empty slabs of every cache to paging and the number of frames returned
+    public int reclaim() {
+        int reclaimed = 0;
+        for (SlabCache cache : caches.values()) {
+            reclaimed += cache.reclaim();
+        }
+        return reclaimed;
+    }
+
+
+    // Key of a cache name in the case-insensitive name index
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
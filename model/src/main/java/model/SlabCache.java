@@ -0,0 +1,358 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Cache of fixed-size kernel objects carved out of paging frames, one frame per slab. Slabs are kept on partial,
+// full and empty lists. Each CPU has a magazine of free objects so that most allocations and frees touch neither
+// the slab lists nor the lock; a magazine is refilled from, or flushed to, the slabs half a magazine at a time.
+// Objects are identified by their physical address, and the hot path allocates nothing. Each slab has a bitmap of the
+// objects handed out to callers, so that freeing an object twice is rejected instead of handing it out twice.
+// A CPU index must be used by one thread at a time, like per-CPU data with preemption disabled.
+public class SlabCache {
+    private static final int PARTIAL = 0; // Slab with both free and allocated objects
+    private static final int FULL = 1; // Slab with no free object
+    private static final int EMPTY = 2; // Slab with no allocated object
+
+    private static final class Slab {
+        int frame; // Frame holding the objects
+        int base; // Physical address of the first object
+        final int[] freeObjects; // Stack of the indexes of the free objects
+        final AtomicLongArray inUse; // Bit of each object held by a caller, set and cleared by any CPU
+        int freeCount; // Number of free objects
+        int list; // List the slab is on
+        Slab prev; // Previous slab on the same list
+        Slab next; // Next slab on the same list
+
+        Slab(int objectsPerSlab) {
+            this.freeObjects = new int[objectsPerSlab];
+            this.inUse = new AtomicLongArray((objectsPerSlab + 63) >>> 6);
+        }
+
+        // Mark an object as held by a caller
+        void markInUse(int index) {
+            long bit = 1L << index;
+            long word;
+            do {
+                word = inUse.get(index >>> 6);
+            } while (!inUse.compareAndSet(index >>> 6, word, word | bit));
+        }
+
+        // Mark an object as no longer held by a caller, returning false if it was not held
+        boolean markFree(int index) {
+            long bit = 1L << index;
+            long word;
+            do {
+                word = inUse.get(index >>> 6);
+                if ((word & bit) == 0) {
+                    return false;
+                }
+            } while (!inUse.compareAndSet(index >>> 6, word, word & ~bit));
+            return true;
+        }
+    }
+
+    private final SlabAllocator owner; // Allocator the cache belongs to, asked to reclaim frames when none is free
+    private final Paging paging; // Source of the frames
+    private final String name; // Name of the cache
+    private final int objectSize; // Size of an object in bytes
+    private final int frameSize; // Size of a slab in bytes
+    private final int objectsPerSlab; // Number of objects in a slab
+    private final int magazineSize; // Capacity of each CPU magazine
+    private final int[][] magazines; // Free objects cached by each CPU
+    private final int[] magazineCounts; // Number of objects in each magazine
+    private final Slab[] slabsByFrame; // Slab held by each frame, or null
+    private final Slab[] heads; // First slab of the partial, full and empty lists
+    private final int[] listCounts; // Number of slabs on each list
+    private final ReentrantLock lock; // Guards the slab lists
+    private Slab spareSlabs; // Reclaimed slab records kept for reuse, linked through next
+    private long objectsOut; // Objects taken out of the slabs, in use or held in magazines
+
+    SlabCache(SlabAllocator owner, Paging paging, String name, int objectSize, int cpuCount, int magazineSize) {
+        if (objectSize <= 0 || objectSize > paging.getFrameSize()) {
+            throw new IllegalArgumentException("Kích thước đối tượng phải từ 1 đến kích thước khung trang.");
+        }
+        if (cpuCount <= 0 || magazineSize <= 0) {
+            throw new IllegalArgumentException("Số CPU và kích thước magazine phải lớn hơn 0.");
+        }
+        this.owner = owner;
+        this.paging = paging;
+        this.name = name;
+        this.objectSize = objectSize;
+        this.frameSize = paging.getFrameSize();
+        this.objectsPerSlab = frameSize / objectSize;
+        this.magazineSize = magazineSize;
+        this.magazines = new int[cpuCount][magazineSize];
+        this.magazineCounts = new int[cpuCount];
+        this.slabsByFrame = new Slab[paging.getFrameCount()];
+        this.heads = new Slab[3];
+        this.listCounts = new int[3];
+        this.lock = new ReentrantLock();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getObjectSize() {
+        return objectSize;
+    }
+
+    public int getObjectsPerSlab() {
+        return objectsPerSlab;
+    }
+
+    public int getCPUCount() {
+        return magazines.length;
+    }
+
+    // Allocate an object on a CPU and return its physical address
+    public int allocate(int cpu) {
+        int[] magazine = magazines[cpu];
+        int count = magazineCounts[cpu];
+        if (count == 0) {
+            count = refill(cpu);
+        }
+        magazineCounts[cpu] = --count;
+        int address = magazine[count];
+        int frame = address / frameSize;
+        slabsByFrame[frame].markInUse((address - frame * frameSize) / objectSize);
+        return address;
+    }
+
+    // Free an object on a CPU, which need not be the CPU that allocated it
+    public void free(int cpu, int address) {
+        int frame = address / frameSize;
+        if (address < 0 || frame >= slabsByFrame.length || slabsByFrame[frame] == null
+                || (address - frame * frameSize) % objectSize != 0 || (address - frame * frameSize) / objectSize >= objectsPerSlab) {
+            throw new IllegalArgumentException("Địa chỉ " + address + " không phải đối tượng của bộ đệm " + name + ".");
+        }
+        if (!slabsByFrame[frame].markFree((address - frame * frameSize) / objectSize)) {
+            throw new IllegalArgumentException("Đối tượng tại địa chỉ " + address + " của bộ đệm " + name + " đã được giải phóng.");
+        }
+        int count = magazineCounts[cpu];
+        if (count == magazineSize) {
+            count = flush(cpu, Math.max(magazineSize / 2, 1));
+        }
+        magazines[cpu][count] = address;
+        magazineCounts[cpu] = count + 1;
+    }
+
+    // Return every object in a CPU's magazine to its slab, so that empty slabs can be reclaimed
+    public void flushMagazine(int cpu) {
+        flush(cpu, magazineCounts[cpu]);
+    }
+
+    // Return the frames of the empty slabs to paging and the number of frames returned
+    public int reclaim() {
+        int[] frames;
+        lock.lock();
+        try {
+            frames = new int[listCounts[EMPTY]];
+            for (int i = 0; i < frames.length; i++) {
+                Slab slab = heads[EMPTY];
+                unlink(slab);
+                slabsByFrame[slab.frame] = null;
+                frames[i] = slab.frame;
+                slab.next = spareSlabs;
+                spareSlabs = slab;
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (int frame : frames) {
+            paging.freeKernelFrame(frame);
+        }
+        return frames.length;
+    }
+
+    public int getSlabCount() {
+        lock.lock();
+        try {
+            return listCounts[PARTIAL] + listCounts[FULL] + listCounts[EMPTY];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPartialSlabCount() {
+        return listCount(PARTIAL);
+    }
+
+    public int getFullSlabCount() {
+        return listCount(FULL);
+    }
+
+    public int getEmptySlabCount() {
+        return listCount(EMPTY);
+    }
+
+    // Number of objects held in the CPU magazines; exact only while no CPU is allocating or freeing
+    public long getCachedObjectCount() {
+        long cached = 0;
+        for (int count : magazineCounts) {
+            cached += count;
+        }
+        return cached;
+    }
+
+    // Number of objects allocated and not yet freed; exact only while no CPU is allocating or freeing
+    public long getObjectsInUse() {
+        lock.lock();
+        try {
+            return objectsOut - getCachedObjectCount();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Bytes of the frames held by the cache
+    public long getMemoryUsage() {
+        return (long) getSlabCount() * frameSize;
+    }
+
+    // Fraction of the object slots of the cache's slabs that are in use
+    public double getUtilization() {
+        long capacity = (long) getSlabCount() * objectsPerSlab;
+        return capacity == 0 ? 0 : (double) getObjectsInUse() / capacity;
+    }
+
+
+    // Fill an empty magazine with half a magazine of objects from the slabs, adding a slab if none has a free object
+    private int refill(int cpu) {
+        int wanted = Math.max(magazineSize / 2, 1);
+        lock.lock();
+        try {
+            int taken = take(magazines[cpu], wanted);
+            if (taken > 0) {
+                return taken;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Get a new frame without holding the lock, since reclaiming takes the locks of the other caches
+        int frame = paging.allocateKernelFrame();
+        if (frame == -1) {
+            owner.reclaim();
+            frame = paging.allocateKernelFrame();
+        }
+        if (frame == -1) {
+            throw new IllegalArgumentException("Không đủ trang vật lý tự do để cấp phát đối tượng " + name + ".");
+        }
+        lock.lock();
+        try {
+            addSlab(frame);
+            return take(magazines[cpu], wanted);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    // Return the newest objects of a magazine to their slabs and the number of objects left in it
+    private int flush(int cpu, int count) {
+        int[] magazine = magazines[cpu];
+        int remaining = magazineCounts[cpu];
+        lock.lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                int address = magazine[--remaining];
+                Slab slab = slabsByFrame[address / frameSize];
+                slab.freeObjects[slab.freeCount++] = (address - slab.base) / objectSize;
+                objectsOut--;
+                if (slab.freeCount == objectsPerSlab) {
+                    move(slab, EMPTY);
+                } else if (slab.list == FULL) {
+                    move(slab, PARTIAL);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        magazineCounts[cpu] = remaining;
+        return remaining;
+    }
+
+
+    // Move up to count free objects from the slabs into a magazine, preferring partial slabs, and return how many moved
+    private int take(int[] magazine, int count) {
+        int taken = 0;
+        while (taken < count) {
+            Slab slab = heads[PARTIAL] != null ? heads[PARTIAL] : heads[EMPTY];
+            if (slab == null) {
+                break;
+            }
+            while (taken < count && slab.freeCount > 0) {
+                magazine[taken++] = slab.base + slab.freeObjects[--slab.freeCount] * objectSize;
+            }
+            move(slab, slab.freeCount == 0 ? FULL : PARTIAL);
+        }
+        objectsOut += taken;
+        return taken;
+    }
+
+
+    private void addSlab(int frame) {
+        Slab slab = spareSlabs;
+        if (slab != null) {
+            spareSlabs = slab.next;
+        } else {
+            slab = new Slab(objectsPerSlab);
+        }
+        slab.frame = frame;
+        slab.base = frame * frameSize;
+        // Hand out the lowest addresses first
+        for (int i = 0; i < objectsPerSlab; i++) {
+            slab.freeObjects[i] = objectsPerSlab - 1 - i;
+        }
+        slab.freeCount = objectsPerSlab;
+        slabsByFrame[frame] = slab;
+        link(slab, EMPTY);
+    }
+
+
+    private int listCount(int list) {
+        lock.lock();
+        try {
+            return listCounts[list];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    private void move(Slab slab, int list) {
+        if (slab.list != list) {
+            unlink(slab);
+            link(slab, list);
+        }
+    }
+
+
+    private void link(Slab slab, int list) {
+        slab.list = list;
+        slab.prev = null;
+        slab.next = heads[list];
+        if (heads[list] != null) {
+            heads[list].prev = slab;
+        }
+        heads[list] = slab;
+        listCounts[list]++;
+    }
+
+
+    private void unlink(Slab slab) {
+        if (slab.prev == null) {
+            heads[slab.list] = slab.next;
+        } else {
+            slab.prev.next = slab.next;
+        }
+        if (slab.next != null) {
+            slab.next.prev = slab.prev;
+        }
+        listCounts[slab.list]--;
+        slab.prev = null;
+        slab.next = null;
+    }
+}
@@ -0,0 +1,202 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Backing store that whole segments are swapped out to: a file mapped into memory through FileChannel, with its
+// free space kept in a HoleIndex so that each swapped-out segment occupies one contiguous slot. Segments carry no
+// data in the simulator, so the image written for a segment is filler of its length, but the copies through the
+// mapping are real and their volume and latency are measured. The store is not thread-safe; Segmentation uses it
+// under its allocation lock.
+public class SwapStore implements AutoCloseable {
+    private static final int TRANSFER_SIZE = 64 * 1024; // Bytes copied per transfer between the buffer and the mapping
+
+    private final Path file; // File holding the swapped-out segments
+    private final boolean temporary; // Whether the file was created by the store and is deleted when it is closed
+    private final int capacity; // Size of the store in bytes
+    private final FileChannel channel; // Channel the file is mapped through
+    private final MappedByteBuffer mapping; // Contents of the file
+    private final HoleIndex slots; // Free space of the store
+    private final byte[] transfer; // Segment image being written or read
+    private boolean forceWrites; // Whether each write is forced to the storage device before it completes
+    private long swapOuts; // Number of segment images written
+    private long swapIns; // Number of segment images read back
+    private long bytesWritten; // Bytes written to the store
+    private long bytesRead; // Bytes read from the store
+    private long writeNanos; // Time spent writing in nanoseconds
+    private long readNanos; // Time spent reading in nanoseconds
+
+    // Create a store of the given size in a temporary file
+    public SwapStore(int capacity) {
+        this(createTemporaryFile(), capacity, true);
+    }
+
+    // Create a store of the given size in the given file, which is created or overwritten
+    public SwapStore(Path file, int capacity) {
+        this(file, capacity, false);
+    }
+
+    private SwapStore(Path file, int capacity, boolean temporary) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Kích thước vùng hoán đổi phải lớn hơn 0.");
+        }
+        this.file = file;
+        this.temporary = temporary;
+        this.capacity = capacity;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể tạo vùng hoán đổi " + file + ".", e);
+        }
+        this.slots = new HoleIndex();
+        this.slots.free(0, capacity);
+        this.transfer = new byte[TRANSFER_SIZE];
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Bytes of the store holding swapped-out segments
+    public long getUsedSize() {
+        return capacity - slots.getFreeSize();
+    }
+
+    // Size of the largest segment that can currently be swapped out
+    public int getLargestFreeSlot() {
+        return slots.getLargestHole();
+    }
+
+    public boolean isForceWrites() {
+        return forceWrites;
+    }
+
+    // Force every segment image to the storage device as it is written, so that writes cost real device I/O
+    public void setForceWrites(boolean forceWrites) {
+        this.forceWrites = forceWrites;
+    }
+
+    public long getSwapOutCount() {
+        return swapOuts;
+    }
+
+    public long getSwapInCount() {
+        return swapIns;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    // Average time to write a segment image in nanoseconds
+    public double getAverageWriteNanos() {
+        return swapOuts == 0 ? 0 : (double) writeNanos / swapOuts;
+    }
+
+    // Average time to read a segment image back in nanoseconds
+    public double getAverageReadNanos() {
+        return swapIns == 0 ? 0 : (double) readNanos / swapIns;
+    }
+
+    public void resetStatistics() {
+        swapOuts = 0;
+        swapIns = 0;
+        bytesWritten = 0;
+        bytesRead = 0;
+        writeNanos = 0;
+        readNanos = 0;
+    }
+
+    // Forget every swapped-out segment and reset the statistics
+    public void clear() {
+        slots.clear();
+        slots.free(0, capacity);
+        resetStatistics();
+    }
+
+    // Write the image of a segment of the given length and return the offset of its slot, or -1 if no slot is large enough
+    public int write(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Kích thước đoạn phải lớn hơn 0.");
+        }
+        int slot = slots.firstFit(length);
+        if (slot == -1) {
+            return -1;
+        }
+        long start = System.nanoTime();
+        for (int done = 0; done < length; done += TRANSFER_SIZE) {
+            mapping.put(slot + done, transfer, 0, Math.min(TRANSFER_SIZE, length - done));
+        }
+        if (forceWrites) {
+            mapping.force(slot, length);
+        }
+        writeNanos += System.nanoTime() - start;
+        slots.allocate(slot, length);
+        swapOuts++;
+        bytesWritten += length;
+        return slot;
+    }
+
+    // Read the image of a segment back from its slot and free the slot
+    public void read(int slot, int length) {
+        long start = System.nanoTime();
+        for (int done = 0; done < length; done += TRANSFER_SIZE) {
+            mapping.get(slot + done, transfer, 0, Math.min(TRANSFER_SIZE, length - done));
+        }
+        readNanos += System.nanoTime() - start;
+        slots.free(slot, length);
+        swapIns++;
+        bytesRead += length;
+    }
+
+    // Free the slot of a swapped-out segment that is removed without being read back
+    public void discard(int slot, int length) {
+        slots.free(slot, length);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+            if (temporary) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể đóng vùng hoán đổi " + file + ".", e);
+        }
+    }
+
+
+    private static Path createTemporaryFile() {
+        try {
+            Path file = Files.createTempFile("swap", ".bin");
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể tạo tệp hoán đổi.", e);
+        }
+    }
+}
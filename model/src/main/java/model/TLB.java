@@ -0,0 +1,216 @@
+package model;
+
+import java.util.Random;
+
+// Simulated translation lookaside buffer caching (ASID, page) -> frame translations
+public class TLB {
+    // Policy choosing the entry to replace when a set is full
+    public enum Replacement {
+        LRU, FIFO, RANDOM
+    }
+
+    private final int entryCount; // Total number of entries
+    private final int ways; // Entries per set (equal to entryCount when fully associative)
+    private final int sets; // Number of sets
+    private final Replacement replacement; // Replacement policy within a set
+    private final boolean asidTagging; // Whether entries are tagged with the address space ID
+    private final Random random; // Random source for RANDOM replacement
+    private final boolean[] valid; // Valid bit of each entry
+    private final int[] asids; // Address space ID of each entry
+    private final int[] pages; // Page number of each entry
+    private final int[] frames; // Frame number of each entry
+    private final long[] stamps; // Last use (LRU) or insertion (FIFO) time of each entry
+    private long clock; // Logical time used for the stamps
+    private int currentASID; // Address space currently loaded when entries are not tagged
+    private long hits; // Number of lookups that hit
+    private long misses; // Number of lookups that missed
+    private double tlbAccessTime; // Time of a TLB lookup in nanoseconds
+    private double memoryAccessTime; // Time of a memory access in nanoseconds
+    private int pageTableLevels; // Memory accesses needed to walk the page table on a miss
+
+    // Create a fully associative TLB
+    public TLB(int entryCount, Replacement replacement) {
+        this(entryCount, entryCount, replacement, true);
+    }
+
+    // Create an N-way set associative TLB; ways equal to entryCount makes it fully associative
+    public TLB(int entryCount, int ways, Replacement replacement, boolean asidTagging) {
+        this(entryCount, ways, replacement, asidTagging, new Random());
+    }
+
+    // Create an N-way set associative TLB whose RANDOM replacement is seeded, so that runs are reproducible
+    public TLB(int entryCount, int ways, Replacement replacement, boolean asidTagging, long seed) {
+        this(entryCount, ways, replacement, asidTagging, new Random(seed));
+    }
+
+    private TLB(int entryCount, int ways, Replacement replacement, boolean asidTagging, Random random) {
+        if (entryCount <= 0 || ways <= 0 || entryCount % ways != 0) {
+            throw new IllegalArgumentException("Số mục TLB phải là bội dương của số đường kết hợp.");
+        }
+        this.entryCount = entryCount;
+        this.ways = ways;
+        this.sets = entryCount / ways;
+        this.replacement = replacement;
+        this.asidTagging = asidTagging;
+        this.random = random;
+        this.valid = new boolean[entryCount];
+        this.asids = new int[entryCount];
+        this.pages = new int[entryCount];
+        this.frames = new int[entryCount];
+        this.stamps = new long[entryCount];
+        this.currentASID = Integer.MIN_VALUE;
+        this.tlbAccessTime = 1;
+        this.memoryAccessTime = 100;
+        this.pageTableLevels = 1;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public int getWays() {
+        return ways;
+    }
+
+    public int getSets() {
+        return sets;
+    }
+
+    public Replacement getReplacement() {
+        return replacement;
+    }
+
+    public boolean isASIDTagging() {
+        return asidTagging;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    // Fraction of lookups that hit, 0 if there was no lookup
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    // Set the timing model used by getEffectiveAccessTime
+    public void setTiming(double tlbAccessTime, double memoryAccessTime, int pageTableLevels) {
+        this.tlbAccessTime = tlbAccessTime;
+        this.memoryAccessTime = memoryAccessTime;
+        this.pageTableLevels = pageTableLevels;
+    }
+
+    // Effective access time in nanoseconds: a hit costs one TLB lookup and one memory access,
+    // a miss additionally walks the page table
+    public double getEffectiveAccessTime() {
+        double missRatio = hits + misses == 0 ? 0 : 1 - getHitRatio();
+        return tlbAccessTime + memoryAccessTime + missRatio * pageTableLevels * memoryAccessTime;
+    }
+
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    // Look up the frame of a page, or -1 on a miss
+    public int lookup(int asid, int page) {
+        switchAddressSpace(asid);
+        int first = firstEntryOfSet(page);
+        for (int i = first; i < first + ways; i++) {
+            if (valid[i] && pages[i] == page && asids[i] == asid) {
+                if (replacement == Replacement.LRU) {
+                    stamps[i] = ++clock;
+                }
+                hits++;
+                return frames[i];
+            }
+        }
+        misses++;
+        return -1;
+    }
+
+    // Insert a translation, replacing an entry of its set if the set is full
+    public void insert(int asid, int page, int frame) {
+        switchAddressSpace(asid);
+        int first = firstEntryOfSet(page);
+        int victim = -1;
+        for (int i = first; i < first + ways; i++) {
+            if (valid[i] && pages[i] == page && asids[i] == asid) {
+                victim = i; // Update the existing entry
+                break;
+            }
+            if (!valid[i] && victim == -1) {
+                victim = i;
+            }
+        }
+        if (victim == -1) {
+            victim = selectVictim(first);
+        }
+        valid[victim] = true;
+        asids[victim] = asid;
+        pages[victim] = page;
+        frames[victim] = frame;
+        stamps[victim] = ++clock;
+    }
+
+    // Invalidate the entry of a single page
+    public void invalidate(int asid, int page) {
+        int first = firstEntryOfSet(page);
+        for (int i = first; i < first + ways; i++) {
+            if (valid[i] && pages[i] == page && asids[i] == asid) {
+                valid[i] = false;
+            }
+        }
+    }
+
+    // Invalidate every entry of an address space
+    public void invalidateASID(int asid) {
+        for (int i = 0; i < entryCount; i++) {
+            if (valid[i] && asids[i] == asid) {
+                valid[i] = false;
+            }
+        }
+    }
+
+    // Invalidate every entry
+    public void flush() {
+        for (int i = 0; i < entryCount; i++) {
+            valid[i] = false;
+        }
+        currentASID = Integer.MIN_VALUE;
+    }
+
+
+    // Without ASID tagging, a different address space means a context switch that flushes the TLB
+    private void switchAddressSpace(int asid) {
+        if (!asidTagging && asid != currentASID) {
+            flush();
+            currentASID = asid;
+        }
+    }
+
+    // Index of the first entry of the set a page maps to
+    private int firstEntryOfSet(int page) {
+        return Math.floorMod(page, sets) * ways;
+    }
+
+    // Choose the entry to replace in a full set
+    private int selectVictim(int first) {
+        if (replacement == Replacement.RANDOM) {
+            return first + random.nextInt(ways);
+        }
+        // LRU and FIFO both evict the entry with the oldest stamp
+        int victim = first;
+        for (int i = first + 1; i < first + ways; i++) {
+            if (stamps[i] < stamps[victim]) {
+                victim = i;
+            }
+        }
+        return victim;
+    }
+}
@@ -0,0 +1,44 @@
+package simulation;
+
+// One combination of parameters in a sweep
+public class SweepPoint {
+    private final int memorySize; // Size of memory in bytes
+    private final int frameSize; // Size of a frame in bytes, 0 for segmentation
+    private final int osSize; // Size of the OS in bytes
+    private final String workload; // Name of the workload
+    private final int repetition; // Index of the repetition of this combination
+    private final long seed; // Seed of the run
+
+    public SweepPoint(int memorySize, int frameSize, int osSize, String workload, int repetition, long seed) {
+        this.memorySize = memorySize;
+        this.frameSize = frameSize;
+        this.osSize = osSize;
+        this.workload = workload;
+        this.repetition = repetition;
+        this.seed = seed;
+    }
+
+    public int getMemorySize() {
+        return memorySize;
+    }
+
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    public int getOSSize() {
+        return osSize;
+    }
+
+    public String getWorkload() {
+        return workload;
+    }
+
+    public int getRepetition() {
+        return repetition;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
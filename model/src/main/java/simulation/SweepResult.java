@@ -0,0 +1,39 @@
+package simulation;
+
+import java.util.Collections;
+import java.util.Map;
+
+// Outcome of one run of a sweep
+public class SweepResult {
+    private final SweepPoint point; // Parameters of the run
+    private final Map<String, Double> metrics; // Measurements reported by the workload
+    private final long elapsedNanos; // Wall-clock time of the run
+    private final String error; // Error message if the run failed, otherwise null
+
+    public SweepResult(SweepPoint point, Map<String, Double> metrics, long elapsedNanos, String error) {
+        this.point = point;
+        this.metrics = Collections.unmodifiableMap(metrics);
+        this.elapsedNanos = elapsedNanos;
+        this.error = error;
+    }
+
+    public SweepPoint getPoint() {
+        return point;
+    }
+
+    public Map<String, Double> getMetrics() {
+        return metrics;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
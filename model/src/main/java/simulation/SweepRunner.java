@@ -0,0 +1,208 @@
+package simulation;
+
+import model.Paging;
+import model.Segmentation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+// Runs every combination of a parameter grid on its own memory manager, in parallel across cores.
+// Each run gets a seed derived from the base seed and its position in the grid, so results are reproducible.
+public class SweepRunner {
+    private final int parallelism; // Number of runs executed at the same time
+    private int[] memorySizes = {64};
+    private int[] frameSizes = {4};
+    private int[] osSizes = {4};
+    private int repetitions = 1; // Runs of each combination with different seeds
+    private long baseSeed = 0; // Seed the per-run seeds are derived from
+
+    public SweepRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SweepRunner(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Số luồng phải lớn hơn 0.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public void setMemorySizes(int... memorySizes) {
+        this.memorySizes = memorySizes.clone();
+    }
+
+    // Frame sizes are only used by paging sweeps
+    public void setFrameSizes(int... frameSizes) {
+        this.frameSizes = frameSizes.clone();
+    }
+
+    public void setOSSizes(int... osSizes) {
+        this.osSizes = osSizes.clone();
+    }
+
+    public void setRepetitions(int repetitions) {
+        if (repetitions <= 0) {
+            throw new IllegalArgumentException("Số lần lặp phải lớn hơn 0.");
+        }
+        this.repetitions = repetitions;
+    }
+
+    public void setBaseSeed(long baseSeed) {
+        this.baseSeed = baseSeed;
+    }
+
+    // Run each paging workload over memory size x frame size x OS size x repetition
+    public List<SweepResult> runPaging(Map<String, Workload<Paging>> workloads) throws InterruptedException {
+        List<SweepPoint> points = new ArrayList<>();
+        for (String workload : workloads.keySet()) {
+            for (int memorySize : memorySizes) {
+                for (int frameSize : frameSizes) {
+                    for (int osSize : osSizes) {
+                        addRepetitions(points, memorySize, frameSize, osSize, workload);
+                    }
+                }
+            }
+        }
+        return run(points, point -> {
+            Paging paging = new Paging(1, point.getSeed());
+            paging.initializeMemory(point.getMemorySize(), point.getFrameSize(), point.getOSSize());
+            return workloads.get(point.getWorkload()).run(paging, workloadRandom(point));
+        });
+    }
+
+    // Run each segmentation workload over memory size x OS size x repetition
+    public List<SweepResult> runSegmentation(Map<String, Workload<Segmentation>> workloads) throws InterruptedException {
+        List<SweepPoint> points = new ArrayList<>();
+        for (String workload : workloads.keySet()) {
+            for (int memorySize : memorySizes) {
+                for (int osSize : osSizes) {
+                    addRepetitions(points, memorySize, 0, osSize, workload);
+                }
+            }
+        }
+        return run(points, point -> {
+            Segmentation segmentation = new Segmentation(point.getSeed());
+            segmentation.initializeMemory(point.getMemorySize(), point.getOSSize());
+            return workloads.get(point.getWorkload()).run(segmentation, workloadRandom(point));
+        });
+    }
+
+    // Format results as a text table with one row per run and one column per parameter and metric
+    public static String formatTable(List<SweepResult> results) {
+        Set<String> metricNames = new LinkedHashSet<>();
+        for (SweepResult result : results) {
+            metricNames.addAll(result.getMetrics().keySet());
+        }
+        List<String> header = new ArrayList<>(List.of("workload", "memory", "frame", "os", "rep", "seed"));
+        header.addAll(metricNames);
+        header.add("ms");
+        header.add("error");
+
+        List<List<String>> rows = new ArrayList<>();
+        rows.add(header);
+        for (SweepResult result : results) {
+            SweepPoint point = result.getPoint();
+            List<String> row = new ArrayList<>();
+            row.add(point.getWorkload());
+            row.add(String.valueOf(point.getMemorySize()));
+            row.add(String.valueOf(point.getFrameSize()));
+            row.add(String.valueOf(point.getOSSize()));
+            row.add(String.valueOf(point.getRepetition()));
+            row.add(String.valueOf(point.getSeed()));
+            for (String metric : metricNames) {
+                Double value = result.getMetrics().get(metric);
+                row.add(value == null ? "" : formatNumber(value));
+            }
+            row.add(String.format("%.1f", result.getElapsedNanos() / 1e6));
+            row.add(result.isFailed() ? result.getError() : "");
+            rows.add(row);
+        }
+
+        // Pad each column to its widest cell
+        int[] widths = new int[header.size()];
+        for (List<String> row : rows) {
+            for (int i = 0; i < row.size(); i++) {
+                widths[i] = Math.max(widths[i], row.get(i).length());
+            }
+        }
+        StringBuilder table = new StringBuilder();
+        for (List<String> row : rows) {
+            for (int i = 0; i < row.size(); i++) {
+                table.append(String.format("%-" + widths[i] + "s", row.get(i)));
+                table.append(i == row.size() - 1 ? "\n" : "  ");
+            }
+        }
+        return table.toString();
+    }
+
+
+    private void addRepetitions(List<SweepPoint> points, int memorySize, int frameSize, int osSize, String workload) {
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            points.add(new SweepPoint(memorySize, frameSize, osSize, workload, repetition, seedOf(points.size())));
+        }
+    }
+
+
+    // Derive the seed of a run from the base seed and its index (SplitMix64 finalizer)
+    private long seedOf(int index) {
+        long z = baseSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+
+    // Random source handed to the workload, independent of the manager's own placement randomness
+    private static Random workloadRandom(SweepPoint point) {
+        return new Random(~point.getSeed());
+    }
+
+
+    // Execute the runs on a fork-join pool and return the results in grid order
+    private List<SweepResult> run(List<SweepPoint> points, Function<SweepPoint, Map<String, Double>> execution)
+            throws InterruptedException {
+        List<Callable<SweepResult>> tasks = new ArrayList<>();
+        for (SweepPoint point : points) {
+            tasks.add(() -> {
+                long start = System.nanoTime();
+                try {
+                    Map<String, Double> metrics = new LinkedHashMap<>(execution.apply(point));
+                    return new SweepResult(point, metrics, System.nanoTime() - start, null);
+                } catch (RuntimeException e) {
+                    // A failed run is recorded in its own row and the rest of the sweep goes on
+                    String error = e instanceof IllegalArgumentException && e.getMessage() != null
+                            ? e.getMessage() : e.toString();
+                    return new SweepResult(point, Collections.emptyMap(), System.nanoTime() - start, error);
+                }
+            });
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<SweepResult> results = new ArrayList<>();
+            for (Future<SweepResult> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Lỗi khi chạy thử nghiệm.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+
+    private static String formatNumber(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? String.valueOf((long) value) : String.format("%.4f", value);
+    }
+}
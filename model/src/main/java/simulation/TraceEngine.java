@@ -0,0 +1,208 @@
+package simulation;
+
+import model.AddressTranslator;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Replays a memory reference trace through a memory manager, streaming the file through memory-mapped windows
+public class TraceEngine {
+    // Trace file formats
+    public enum Format {
+        BINARY, // Fixed 16-byte big-endian records: int id, int flags (bit 0 = write), long offset
+        TEXT // One reference per line: "id offset [R|W]", blank lines and lines starting with '#' are ignored
+    }
+
+    public static final int RECORD_SIZE = 16; // Size of a binary record in bytes
+    public static final int WRITE_FLAG = 1; // Flag bit of a write reference in a binary record
+    private static final long DEFAULT_WINDOW_SIZE = 64L << 20; // Bytes mapped at a time
+
+    private final AddressTranslator translator; // Memory manager receiving the references
+    private final long windowSize; // Bytes mapped at a time
+    private double accessLatency; // Simulated latency of a reference without a fault in nanoseconds
+    private double faultLatency; // Additional simulated latency of a fault in nanoseconds
+
+    // Counters of the current run
+    private long references;
+    private long writes;
+    private long errors;
+
+    public TraceEngine(AddressTranslator translator) {
+        this(translator, DEFAULT_WINDOW_SIZE);
+    }
+
+    public TraceEngine(AddressTranslator translator, long windowSize) {
+        if (windowSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("Cửa sổ ánh xạ quá nhỏ.");
+        }
+        this.translator = translator;
+        this.windowSize = windowSize - windowSize % RECORD_SIZE;
+        this.accessLatency = 100;
+        this.faultLatency = 1_000_000;
+    }
+
+    // Set the cost model used for the simulated latency
+    public void setLatencies(double accessLatency, double faultLatency) {
+        this.accessLatency = accessLatency;
+        this.faultLatency = faultLatency;
+    }
+
+    // Replay a trace file, choosing the format from the extension (.txt is text, anything else binary)
+    public TraceResult run(Path trace) throws IOException {
+        String fileName = trace.getFileName().toString();
+        return run(trace, fileName.endsWith(".txt") ? Format.TEXT : Format.BINARY);
+    }
+
+    // Replay a trace file of the given format
+    public TraceResult run(Path trace, Format format) throws IOException {
+        references = 0;
+        writes = 0;
+        errors = 0;
+        long faultsBefore = translator.getFaultCount();
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(trace, StandardOpenOption.READ)) {
+            if (format == Format.BINARY) {
+                replayBinary(channel);
+            } else {
+                replayText(channel);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long faults = translator.getFaultCount() - faultsBefore;
+        double latency = (references - errors) * accessLatency + faults * faultLatency;
+        return new TraceResult(references, writes, faults, errors, latency, elapsed);
+    }
+
+
+    // Replay fixed-size binary records, one window at a time
+    private void replayBinary(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size % RECORD_SIZE != 0) {
+            throw new IOException("Kích thước tệp vết không phải bội của " + RECORD_SIZE + " byte.");
+        }
+        for (long position = 0; position < size; position += windowSize) {
+            long length = Math.min(windowSize, size - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int end = (int) length;
+            for (int i = 0; i < end; i += RECORD_SIZE) {
+                int id = window.getInt(i);
+                int flags = window.getInt(i + 4);
+                long offset = window.getLong(i + 8);
+                access(id, offset, (flags & WRITE_FLAG) != 0);
+            }
+        }
+    }
+
+
+    // Replay text lines, starting each window at the first line not yet replayed
+    private void replayText(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        while (position < size) {
+            long length = Math.min(windowSize, size - position);
+            boolean lastWindow = position + length == size;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int end = (int) length;
+            int lineStart = 0;
+            for (int i = 0; i < end; i++) {
+                if (window.get(i) == '\n') {
+                    parseLine(window, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            if (lastWindow) {
+                if (lineStart < end) {
+                    parseLine(window, lineStart, end); // Last line without a newline
+                }
+                return;
+            }
+            if (lineStart == 0) {
+                throw new IOException("Dòng vết dài hơn cửa sổ ánh xạ tại vị trí " + position + ".");
+            }
+            position += lineStart;
+        }
+    }
+
+
+    // Parse "id offset [R|W]" between two buffer positions without allocating
+    private void parseLine(MappedByteBuffer window, int start, int end) throws IOException {
+        int i = skipSpaces(window, start, end);
+        if (i == end || window.get(i) == '#') {
+            return; // Blank line or comment
+        }
+        long id = 0;
+        boolean negative = window.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long idLimit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int idStart = i;
+        while (i < end && isDigit(window.get(i))) {
+            id = id * 10 + (window.get(i++) - '0');
+            if (id > idLimit) {
+                throw new IOException("Dòng vết không hợp lệ.");
+            }
+        }
+        int idEnd = i;
+        i = skipSpaces(window, i, end);
+        long offset = 0;
+        int offsetStart = i;
+        while (i < end && isDigit(window.get(i))) {
+            int digit = window.get(i++) - '0';
+            if (offset > (Long.MAX_VALUE - digit) / 10) {
+                throw new IOException("Dòng vết không hợp lệ.");
+            }
+            offset = offset * 10 + digit;
+        }
+        if (idEnd == idStart || i == offsetStart) {
+            throw new IOException("Dòng vết không hợp lệ.");
+        }
+        // The access type is optional and must be a single R or W, separated from the offset
+        int afterOffset = i;
+        i = skipSpaces(window, i, end);
+        boolean write = false;
+        if (i < end) {
+            byte type = window.get(i++);
+            if (i == afterOffset + 1 || (type != 'R' && type != 'r' && type != 'W' && type != 'w')
+                    || skipSpaces(window, i, end) != end) {
+                throw new IOException("Dòng vết không hợp lệ.");
+            }
+            write = type == 'W' || type == 'w';
+        }
+        access((int) (negative ? -id : id), offset, write);
+    }
+
+
+    // Send one reference to the memory manager
+    private void access(int id, long offset, boolean write) {
+        references++;
+        if (write) {
+            writes++;
+        }
+        try {
+            translator.translate(id, offset, write);
+        } catch (IllegalArgumentException e) {
+            errors++;
+        }
+    }
+
+
+    private static int skipSpaces(MappedByteBuffer window, int i, int end) {
+        while (i < end) {
+            byte b = window.get(i);
+            if (b != ' ' && b != '\t' && b != '\r') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
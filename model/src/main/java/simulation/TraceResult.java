@@ -0,0 +1,70 @@
+package simulation;
+
+// Totals of a trace-driven simulation run
+public class TraceResult {
+    private final long references; // Number of references replayed
+    private final long writes; // Number of write references
+    private final long faults; // Number of references that raised a fault
+    private final long errors; // Number of references rejected as invalid
+    private final double simulatedLatency; // Total simulated access latency in nanoseconds
+    private final long elapsedNanos; // Wall-clock time of the run in nanoseconds
+
+    public TraceResult(long references, long writes, long faults, long errors, double simulatedLatency, long elapsedNanos) {
+        this.references = references;
+        this.writes = writes;
+        this.faults = faults;
+        this.errors = errors;
+        this.simulatedLatency = simulatedLatency;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getReferences() {
+        return references;
+    }
+
+    public long getReads() {
+        return references - writes;
+    }
+
+    public long getWrites() {
+        return writes;
+    }
+
+    public long getFaults() {
+        return faults;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    // References that were translated without a fault
+    public long getHits() {
+        return references - faults - errors;
+    }
+
+    public double getSimulatedLatency() {
+        return simulatedLatency;
+    }
+
+    // Average simulated latency of a valid reference in nanoseconds
+    public double getAverageLatency() {
+        long valid = references - errors;
+        return valid == 0 ? 0 : simulatedLatency / valid;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // Simulation throughput in references per second of wall-clock time
+    public double getReferencesPerSecond() {
+        return elapsedNanos == 0 ? 0 : references * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("references=%d reads=%d writes=%d hits=%d faults=%d errors=%d avgLatency=%.2fns throughput=%.0f refs/s",
+                references, getReads(), writes, getHits(), faults, errors, getAverageLatency(), getReferencesPerSecond());
+    }
+}
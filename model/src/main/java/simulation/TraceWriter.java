@@ -0,0 +1,28 @@
+package simulation;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Writes references to a binary trace file readable by TraceEngine
+public class TraceWriter implements Closeable {
+    private final DataOutputStream out;
+
+    public TraceWriter(Path trace) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(trace), 1 << 16));
+    }
+
+    public void write(int id, long offset, boolean write) throws IOException {
+        out.writeInt(id);
+        out.writeInt(write ? TraceEngine.WRITE_FLAG : 0);
+        out.writeLong(offset);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,10 @@
+package simulation;
+
+import java.util.Map;
+import java.util.Random;
+
+// Experiment run against a freshly initialized memory manager, reporting its measurements by name
+@FunctionalInterface
+public interface Workload<M> {
+    Map<String, Double> run(M manager, Random random);
+}
@@ -0,0 +1,273 @@
+package simulation;
+
+import model.MemoryMetrics;
+import model.Paging;
+import model.Segment;
+import model.SegmentTable;
+import model.Segmentation;
+import model.SwapStore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+// Ready-made workloads for parameter sweeps
+public final class Workloads {
+    private Workloads() {
+    }
+
+    // Randomly load and delete programs of up to maxSize bytes, keeping about half of the operations loads
+    public static Workload<Paging> programChurn(int operations, int maxSize) {
+        return (paging, random) -> {
+            List<String> loaded = new ArrayList<>();
+            long failures = 0;
+            int nextName = 0;
+            for (int i = 0; i < operations; i++) {
+                if (loaded.isEmpty() || random.nextBoolean()) {
+                    String name = "p" + nextName++;
+                    try {
+                        paging.addProgram(name, 1 + random.nextInt(maxSize), null);
+                        loaded.add(name);
+                    } catch (IllegalArgumentException e) {
+                        failures++;
+                    }
+                } else {
+                    paging.deleteProgram(loaded.remove(random.nextInt(loaded.size())));
+                }
+            }
+            MemoryMetrics snapshot = paging.getMetrics();
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            metrics.put("loadFailures", (double) failures);
+            metrics.put("resident", (double) loaded.size());
+            metrics.put("freeFrames", (double) paging.getFreeFrameCount());
+            metrics.put("internalFragmentation", (double) snapshot.getInternalFragmentation());
+            metrics.put("externalFragmentation", snapshot.getExternalFragmentation());
+            return metrics;
+        };
+    }
+
+    // Randomly start and stop instances of a few program images of up to maxSize bytes, a new image being loaded for
+    // about one start in ten. With shared set, instances of an image already in memory map its frames read-only
+    // instead of loading a copy.
+    public static Workload<Paging> programReplicas(int operations, int maxSize, boolean shared) {
+        return (paging, random) -> {
+            List<Integer> imageSizes = new ArrayList<>();
+            List<String> loaded = new ArrayList<>();
+            List<Integer> instanceImages = new ArrayList<>();
+            long failures = 0;
+            int nextName = 0;
+            for (int i = 0; i < operations; i++) {
+                if (loaded.isEmpty() || random.nextBoolean()) {
+                    String name = "r" + nextName++;
+                    boolean newImage = imageSizes.isEmpty() || random.nextInt(10) == 0;
+                    int image = newImage ? imageSizes.size() : random.nextInt(imageSizes.size());
+                    int size = newImage ? 1 + random.nextInt(maxSize) : imageSizes.get(image);
+                    String source = shared ? findInstance(loaded, instanceImages, image) : null;
+                    try {
+                        if (source != null) {
+                            paging.shareProgram(source, name, SegmentTable.READ | SegmentTable.EXECUTE, null);
+                        } else {
+                            paging.addProgram(name, size, null);
+                        }
+                        if (newImage) {
+                            imageSizes.add(size);
+                        }
+                        loaded.add(name);
+                        instanceImages.add(image);
+                    } catch (IllegalArgumentException e) {
+                        failures++;
+                    }
+                } else {
+                    int victim = random.nextInt(loaded.size());
+                    paging.deleteProgram(loaded.remove(victim));
+                    instanceImages.remove(victim);
+                }
+            }
+            MemoryMetrics snapshot = paging.getMetrics();
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            metrics.put("loadFailures", (double) failures);
+            metrics.put("resident", (double) loaded.size());
+            metrics.put("freeFrames", (double) paging.getFreeFrameCount());
+            metrics.put("utilization", snapshot.getUtilization());
+            return metrics;
+        };
+    }
+
+    // Randomly add and remove segments of up to maxSize bytes, keeping about half of the operations adds
+    public static Workload<Segmentation> segmentChurn(int operations, int maxSize) {
+        return segmentChurn(operations, random -> 1 + random.nextInt(maxSize));
+    }
+
+    // Randomly add and remove segments whose sizes are powers of two up to 2^maxOrder bytes
+    public static Workload<Segmentation> powerOfTwoSegmentChurn(int operations, int maxOrder) {
+        return segmentChurn(operations, random -> 1 << random.nextInt(maxOrder + 1));
+    }
+
+    // Randomly add segments of up to initialSize bytes, grow or shrink resident segments by up to half their size
+    // (capped at maxSize), and remove them; a third of the operations are resizes and two thirds of those grow
+    public static Workload<Segmentation> segmentGrowth(int operations, int initialSize, int maxSize) {
+        return (segmentation, random) -> {
+            List<Segment> loaded = new ArrayList<>();
+            long failures = 0;
+            long growFailures = 0;
+            int nextName = 0;
+            for (int i = 0; i < operations; i++) {
+                int operation = random.nextInt(3);
+                if (loaded.isEmpty() || operation == 0) {
+                    try {
+                        loaded.add(segmentation.addSegment("s" + nextName++, 1 + random.nextInt(initialSize), null));
+                    } catch (IllegalArgumentException e) {
+                        failures++;
+                    }
+                } else if (operation == 1) {
+                    Segment segment = loaded.get(random.nextInt(loaded.size()));
+                    int delta = 1 + random.nextInt(Math.max(segment.getLength() / 2, 1));
+                    int newSize = random.nextInt(3) > 0 ? Math.min(segment.getLength() + delta, maxSize) : Math.max(segment.getLength() - delta, 1);
+                    try {
+                        segmentation.resizeSegment(segment.getSID(), newSize);
+                    } catch (IllegalArgumentException e) {
+                        growFailures++;
+                    }
+                } else {
+                    segmentation.removeSegment(loaded.remove(random.nextInt(loaded.size())).getSID());
+                }
+            }
+            long used = 0;
+            for (Segment segment : segmentation.getSegments()) {
+                used += segment.getLength();
+            }
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            metrics.put("loadFailures", (double) failures);
+            metrics.put("growFailures", (double) growFailures);
+            metrics.put("resident", (double) loaded.size());
+            metrics.put("utilization", (double) used / segmentation.getMemorySize());
+            metrics.put("relocations", (double) segmentation.getResizeRelocations());
+            metrics.put("copiedBytes", (double) segmentation.getResizeCopiedBytes());
+            metrics.put("compactedBytes", (double) segmentation.getCompactedBytes());
+            return metrics;
+        };
+    }
+
+    // Randomly add, remove and access segments of up to maxSize bytes, a third of the operations each, swapping whole
+    // segments out with the given policy to a temporary store of swapSize bytes when memory is full. The swap I/O is
+    // reported next to the compaction work so that the cost of swapping can be compared with that of compaction.
+    public static Workload<Segmentation> segmentSwapping(int operations, int maxSize, int swapSize, Segmentation.SwapPolicy policy) {
+        return (segmentation, random) -> {
+            try (SwapStore store = new SwapStore(swapSize)) {
+                segmentation.setSwapPolicy(policy);
+                segmentation.setSwapStore(store);
+                List<Segment> loaded = new ArrayList<>();
+                long failures = 0;
+                long accessFailures = 0;
+                int nextName = 0;
+                try {
+                    for (int i = 0; i < operations; i++) {
+                        int operation = random.nextInt(3);
+                        if (loaded.isEmpty() || operation == 0) {
+                            try {
+                                loaded.add(segmentation.addSegment("s" + nextName++, 1 + random.nextInt(maxSize), null));
+                            } catch (IllegalArgumentException e) {
+                                failures++;
+                            }
+                        } else if (operation == 1) {
+                            Segment segment = loaded.get(random.nextInt(loaded.size()));
+                            try {
+                                segmentation.translateAddress(segment.getSID(), random.nextInt(segment.getLength()));
+                            } catch (IllegalArgumentException e) {
+                                accessFailures++;
+                            }
+                        } else {
+                            segmentation.removeSegment(loaded.remove(random.nextInt(loaded.size())).getSID());
+                        }
+                    }
+                    Map<String, Double> metrics = new LinkedHashMap<>();
+                    metrics.put("loadFailures", (double) failures);
+                    metrics.put("accessFailures", (double) accessFailures);
+                    metrics.put("resident", (double) (loaded.size() - segmentation.getSwappedOutCount()));
+                    metrics.put("swappedOut", (double) segmentation.getSwappedOutCount());
+                    metrics.put("swapOuts", (double) store.getSwapOutCount());
+                    metrics.put("swapIns", (double) store.getSwapInCount());
+                    metrics.put("swapBytes", (double) (store.getBytesWritten() + store.getBytesRead()));
+                    metrics.put("swapWriteNs", store.getAverageWriteNanos());
+                    metrics.put("swapReadNs", store.getAverageReadNanos());
+                    metrics.put("compactedBytes", (double) segmentation.getCompactedBytes());
+                    return metrics;
+                } finally {
+                    // Empty the store before detaching it from the manager
+                    for (Segment segment : loaded) {
+                        segmentation.removeSegment(segment.getSID());
+                    }
+                    segmentation.setSwapStore(null);
+                }
+            }
+        };
+    }
+
+    // Run a segmentation workload twice on the same request sequence, first with the placement the manager is
+    // configured with and then with the buddy system on memory of the same size, and report both sets of metrics
+    // (the buddy ones prefixed with "buddy.") with the time each run took
+    public static Workload<Segmentation> compareWithBuddySystem(Workload<Segmentation> workload) {
+        return (segmentation, random) -> {
+            long seed = random.nextLong();
+            int memorySize = segmentation.getMemorySize();
+            int osSize = segmentation.findSegmentBySID(-1).getLength();
+
+            long start = System.nanoTime();
+            Map<String, Double> metrics = new LinkedHashMap<>(workload.run(segmentation, new Random(seed)));
+            metrics.put("runMs", (System.nanoTime() - start) / 1e6);
+
+            segmentation.setBuddySystem(true);
+            segmentation.initializeMemory(memorySize, osSize);
+            start = System.nanoTime();
+            Map<String, Double> buddyMetrics = workload.run(segmentation, new Random(seed));
+            double buddyMs = (System.nanoTime() - start) / 1e6;
+            for (Map.Entry<String, Double> metric : buddyMetrics.entrySet()) {
+                metrics.put("buddy." + metric.getKey(), metric.getValue());
+            }
+            metrics.put("buddy.runMs", buddyMs);
+            return metrics;
+        };
+    }
+
+
+    // Name of a loaded instance of an image, or null if none is loaded
+    private static String findInstance(List<String> loaded, List<Integer> instanceImages, int image) {
+        int index = instanceImages.indexOf(image);
+        return index == -1 ? null : loaded.get(index);
+    }
+
+
+    private static Workload<Segmentation> segmentChurn(int operations, ToIntFunction<Random> sizes) {
+        return (segmentation, random) -> {
+            List<Integer> loaded = new ArrayList<>();
+            long failures = 0;
+            int nextName = 0;
+            for (int i = 0; i < operations; i++) {
+                if (loaded.isEmpty() || random.nextBoolean()) {
+                    String name = "s" + nextName++;
+                    try {
+                        loaded.add(segmentation.addSegment(name, sizes.applyAsInt(random), null).getSID());
+                    } catch (IllegalArgumentException e) {
+                        failures++;
+                    }
+                } else {
+                    segmentation.removeSegment(loaded.remove(random.nextInt(loaded.size())));
+                }
+            }
+            MemoryMetrics snapshot = segmentation.getMetrics();
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            metrics.put("loadFailures", (double) failures);
+            metrics.put("resident", (double) loaded.size());
+            metrics.put("utilization", snapshot.getUtilization());
+            metrics.put("internalFragmentation", (double) snapshot.getInternalFragmentation());
+            metrics.put("largestHole", (double) snapshot.getLargestHole());
+            metrics.put("holes", (double) snapshot.getHoleCount());
+            metrics.put("externalFragmentation", snapshot.getExternalFragmentation());
+            metrics.put("compactedBytes", (double) segmentation.getCompactedBytes());
+            return metrics;
+        };
+    }
+}